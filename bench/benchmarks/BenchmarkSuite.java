@@ -0,0 +1,51 @@
+package benchmarks;
+
+/**
+ * Class Description: Runs the tree, parse, repository and report benchmarks one
+ * after another to produce a full set of baseline numbers.
+ *
+ * Run with: java -cp bin benchmarks.BenchmarkSuite [keys] [megabytes] [files]
+ *
+ * The number of warm-up and measured runs can be changed with
+ * -Dbench.warmups=N and -Dbench.rounds=N.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class BenchmarkSuite
+{
+	/**
+	 * Runs every benchmark.
+	 *
+	 * @param args the number of tree keys (100,000), the corpus size in megabytes
+	 *        (32) and the number of corpus files (64), all optional
+	 * @throws Exception if a benchmark fails
+	 */
+	public static void main( String[] args ) throws Exception
+	{
+		int keys = args.length > 0 ? Integer.parseInt( args[0] ) : 100000;
+		int megabytes = args.length > 1 ? Integer.parseInt( args[1] ) : 32;
+		int files = args.length > 2 ? Integer.parseInt( args[2] ) : 64;
+		Harness harness = Harness.fromProperties();
+
+		System.out.println( "Java " + System.getProperty( "java.version" ) + ", "
+				+ Runtime.getRuntime().availableProcessors() + " processors, max heap "
+				+ Runtime.getRuntime().maxMemory() / ( 1024 * 1024 ) + " MB" );
+
+		TreeBenchmark.run( harness, keys );
+
+		Corpus corpus = new Corpus( files, megabytes * 1024L * 1024, 42 );
+		try
+		{
+			ParseBenchmark.run( harness, corpus );
+			RepositoryBenchmark.run( harness, corpus );
+		}
+		finally
+		{
+			corpus.delete();
+		}
+
+		ReportBenchmark.run( harness, keys, 50 );
+		System.out.println( "sink " + harness.getSink() );
+	}
+}
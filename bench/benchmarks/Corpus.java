@@ -0,0 +1,154 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Class Description: Generates a reproducible corpus of text files for the
+ * benchmarks in a temporary directory.
+ *
+ * Words are drawn from a fixed vocabulary with a skewed distribution, so a few
+ * words are very common and most are rare, as in natural text. Lines hold a
+ * dozen or so words with some punctuation and apostrophes mixed in.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class Corpus
+{
+	private static final int VOCABULARY = 50000;
+	private static final String[] PUNCTUATION = { " ", " ", " ", " ", ", ", ". ", "; ", " - ", "! " };
+
+	private final Path directory;
+	private final List<String> files;
+	private final long bytes;
+
+	/**
+	 * Writes a corpus of files to a new temporary directory.
+	 *
+	 * @param fileCount the number of files
+	 * @param totalBytes the approximate size of all the files together
+	 * @param seed the seed the text is generated from
+	 * @throws IOException if the files cannot be written
+	 */
+	public Corpus( int fileCount, long totalBytes, long seed ) throws IOException
+	{
+		directory = Files.createTempDirectory( "wordtracker-corpus" );
+		files = new ArrayList<>();
+		Random random = new Random( seed );
+		String[] vocabulary = vocabulary( random );
+		long written = 0;
+
+		for( int f = 0; f < fileCount; f++ )
+		{
+			Path file = directory.resolve( String.format( "file%04d.txt", f ) );
+			long target = totalBytes / fileCount;
+			long size = 0;
+			try( BufferedWriter writer = Files.newBufferedWriter( file, StandardCharsets.UTF_8 ) )
+			{
+				StringBuilder line = new StringBuilder();
+				while( size < target )
+				{
+					line.setLength( 0 );
+					for( int w = 8 + random.nextInt( 10 ); w > 0; w-- )
+					{
+						// cubing skews the draw towards the start of the vocabulary
+						double r = random.nextDouble();
+						line.append( vocabulary[(int) ( r * r * r * VOCABULARY )] );
+						line.append( PUNCTUATION[random.nextInt( PUNCTUATION.length )] );
+					}
+					line.append( '\n' );
+					writer.append( line );
+					size += line.length();
+				}
+			}
+			files.add( file.toString() );
+			written += size;
+		}
+		bytes = written;
+	}
+
+	/**
+	 * Getter for the paths of the generated files, in sorted order.
+	 *
+	 * @return the paths
+	 */
+	public List<String> getFiles()
+	{
+		return files;
+	}
+
+	/**
+	 * Getter for the directory holding the files.
+	 *
+	 * @return the directory
+	 */
+	public Path getDirectory()
+	{
+		return directory;
+	}
+
+	/**
+	 * Getter for the total size of the files.
+	 *
+	 * @return the number of bytes written
+	 */
+	public long getBytes()
+	{
+		return bytes;
+	}
+
+	/**
+	 * Deletes the generated files and their directory, along with anything else
+	 * the benchmarks wrote there.
+	 */
+	public void delete()
+	{
+		File[] contents = directory.toFile().listFiles();
+		if( contents != null )
+		{
+			for( File file : contents )
+			{
+				file.delete();
+			}
+		}
+		directory.toFile().delete();
+	}
+
+	/**
+	 * Makes up the vocabulary: lowercase, capitalized and a few with apostrophes.
+	 *
+	 * @param random the source of randomness
+	 * @return the words
+	 */
+	private static String[] vocabulary( Random random )
+	{
+		String[] words = new String[VOCABULARY];
+		StringBuilder word = new StringBuilder();
+		for( int i = 0; i < VOCABULARY; i++ )
+		{
+			word.setLength( 0 );
+			for( int c = 2 + random.nextInt( 8 ); c > 0; c-- )
+			{
+				word.append( (char) ( 'a' + random.nextInt( 26 ) ) );
+			}
+			if( random.nextInt( 20 ) == 0 )
+			{
+				word.insert( word.length() - 1, '\'' );
+			}
+			if( random.nextInt( 10 ) == 0 )
+			{
+				word.setCharAt( 0, Character.toUpperCase( word.charAt( 0 ) ) );
+			}
+			words[i] = word.toString();
+		}
+		return words;
+	}
+}
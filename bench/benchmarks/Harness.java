@@ -0,0 +1,133 @@
+package benchmarks;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Class Description: A small timing harness shared by the benchmarks, so that
+ * they can be run without any build tool or library on the classpath.
+ *
+ * Every measurement runs its task a number of times to let the JIT compile
+ * the code being measured, then times a number of further runs and reports
+ * their median and minimum. Results go to the System.out of the time the
+ * harness was created, so benchmarks can discard what the code under test
+ * prints. Tasks return a value that is folded into a sink,
+ * so the JIT cannot discard the work as unused. The inputs of every benchmark
+ * come from fixed seeds, so repeated runs measure the same work.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class Harness
+{
+	/**
+	 * A piece of work to time.
+	 */
+	public interface Task
+	{
+		/**
+		 * Performs the work once.
+		 *
+		 * @return any value derived from the work
+		 * @throws Exception if the work fails
+		 */
+		long run() throws Exception;
+	}
+
+	private final int warmups;
+	private final int rounds;
+	private final PrintStream out;
+	private long sink;
+
+	/**
+	 * Constructor for Harness
+	 *
+	 * @param warmups the number of untimed runs before measuring
+	 * @param rounds the number of timed runs
+	 */
+	public Harness( int warmups, int rounds )
+	{
+		this.warmups = warmups;
+		this.rounds = rounds;
+		this.out = System.out;
+	}
+
+	/**
+	 * Creates a harness using the warm-up and round counts given by the
+	 * bench.warmups and bench.rounds system properties, defaulting to 3 and 5.
+	 *
+	 * @return the harness
+	 */
+	public static Harness fromProperties()
+	{
+		return new Harness( Integer.getInteger( "bench.warmups", 3 ), Integer.getInteger( "bench.rounds", 5 ) );
+	}
+
+	/**
+	 * Times a task and prints one line with its median and minimum time, and its
+	 * throughput when the number of operations per run is known.
+	 *
+	 * @param name the name to print
+	 * @param operations the number of operations performed by each run, or 0
+	 * @param task the task to time
+	 * @return the median time in milliseconds
+	 * @throws Exception if the task fails
+	 */
+	public double measure( String name, long operations, Task task ) throws Exception
+	{
+		for( int i = 0; i < warmups; i++ )
+		{
+			sink += task.run();
+		}
+
+		double[] times = new double[rounds];
+		for( int i = 0; i < rounds; i++ )
+		{
+			long start = System.nanoTime();
+			sink += task.run();
+			times[i] = ( System.nanoTime() - start ) / 1e6;
+		}
+		Arrays.sort( times );
+		double median = times[rounds / 2];
+
+		String line = String.format( "  %-44s median %10.2f ms   min %10.2f ms", name, median, times[0] );
+		if( operations > 0 )
+		{
+			line += String.format( "   %12.0f ops/s", operations / ( median / 1000 ) );
+		}
+		out.println( line );
+		return median;
+	}
+
+	/**
+	 * Prints a heading for a group of measurements.
+	 *
+	 * @param title the heading
+	 */
+	public void section( String title )
+	{
+		out.println();
+		out.println( title + " (median of " + rounds + " runs after " + warmups + " warm-up runs)" );
+	}
+
+	/**
+	 * Prints an extra line of results below the last measurement.
+	 *
+	 * @param line the line to print
+	 */
+	public void note( String line )
+	{
+		out.println( "  " + line );
+	}
+
+	/**
+	 * Getter for the value folded from every run, printed at the end of a suite so
+	 * that the work cannot be optimized away.
+	 *
+	 * @return the sink
+	 */
+	public long getSink()
+	{
+		return sink;
+	}
+}
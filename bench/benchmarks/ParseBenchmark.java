@@ -0,0 +1,119 @@
+package benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import appDomain.MappedFileScanner;
+import appDomain.WordTokenizer;
+import appDomain.WordTracker;
+import implementations.BSTree;
+import implementations.BalancedBSTree;
+import implementations.FileRegistry;
+import implementations.WordData;
+
+/**
+ * Class Description: Measures parse throughput on a generated corpus: the
+ * tokenizer on its own, and WordTracker.parse with one thread and with one
+ * thread per processor.
+ *
+ * Run with: java -cp bin benchmarks.ParseBenchmark [megabytes] [files]
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class ParseBenchmark
+{
+	/**
+	 * Generates the corpus and runs every parse benchmark.
+	 *
+	 * @param args the size of the corpus in megabytes, 32 by default, and the
+	 *        number of files, 64 by default
+	 * @throws Exception if a benchmark fails
+	 */
+	public static void main( String[] args ) throws Exception
+	{
+		int megabytes = args.length > 0 ? Integer.parseInt( args[0] ) : 32;
+		int files = args.length > 1 ? Integer.parseInt( args[1] ) : 64;
+		Harness harness = Harness.fromProperties();
+
+		Corpus corpus = new Corpus( files, megabytes * 1024L * 1024, 42 );
+		try
+		{
+			run( harness, corpus );
+		}
+		finally
+		{
+			corpus.delete();
+		}
+		System.out.println( "sink " + harness.getSink() );
+	}
+
+	/**
+	 * Runs every parse benchmark on a corpus.
+	 *
+	 * @param harness the harness to time with
+	 * @param corpus the files to parse
+	 * @throws Exception if a benchmark fails
+	 */
+	public static void run( Harness harness, Corpus corpus ) throws Exception
+	{
+		List<String> files = corpus.getFiles();
+		double megabytes = corpus.getBytes() / ( 1024.0 * 1024 );
+		int processors = Runtime.getRuntime().availableProcessors();
+		String threads = processors + ( processors == 1 ? " thread" : " threads" );
+
+		harness.section( String.format( "Parsing %.1f MB in %d files", megabytes, files.size() ) );
+		report( harness, megabytes, harness.measure( "tokenize only", 0, () -> {
+			long[] tokens = new long[1];
+			WordTokenizer tokenizer = new WordTokenizer( ( word, lineNumber ) -> tokens[0]++ );
+			MappedFileScanner scanner = new MappedFileScanner( StandardCharsets.UTF_8 );
+			for( String file : files )
+			{
+				scanner.scan( file, tokenizer );
+			}
+			return tokens[0];
+		} ) );
+		report( harness, megabytes, harness.measure( "WordTracker.parse, 1 thread", 0, () -> {
+			new WordTracker( files, StandardCharsets.UTF_8, 1 ).parse();
+			return 1;
+		} ) );
+		report( harness, megabytes, harness.measure( "WordTracker.parse, " + threads + " (-t default)", 0, () -> {
+			new WordTracker( files, StandardCharsets.UTF_8, processors ).parse();
+			return 1;
+		} ) );
+	}
+
+	/**
+	 * Builds the index of a corpus the same way WordTracker.parse does with a
+	 * single thread, for the benchmarks that need an index to work on.
+	 *
+	 * @param corpus the files to index
+	 * @param registry receives the ids of the files
+	 * @return the index
+	 * @throws Exception if a file cannot be read
+	 */
+	public static BSTree<WordData> index( Corpus corpus, FileRegistry registry ) throws Exception
+	{
+		BSTree<WordData> index = new BalancedBSTree<WordData>();
+		MappedFileScanner scanner = new MappedFileScanner( StandardCharsets.UTF_8 );
+		for( String file : corpus.getFiles() )
+		{
+			int fileId = registry.register( file );
+			scanner.scan( file, new WordTokenizer( ( word, lineNumber ) -> index
+					.computeIfAbsent( new WordData( word ), key -> key ).getElement().addOccurrence( fileId, lineNumber ) ) );
+		}
+		return index;
+	}
+
+	/**
+	 * Prints the throughput for a measured median time.
+	 *
+	 * @param harness the harness that timed the run
+	 * @param megabytes the size of the corpus
+	 * @param millis the median time
+	 */
+	private static void report( Harness harness, double megabytes, double millis )
+	{
+		harness.note( String.format( "  %.1f MB/s", megabytes / ( millis / 1000 ) ) );
+	}
+}
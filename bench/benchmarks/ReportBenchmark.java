@@ -0,0 +1,218 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import appDomain.ReportWriter;
+import implementations.BSTree;
+import implementations.BalancedBSTree;
+import implementations.FileRegistry;
+import implementations.WordData;
+import utilities.Iterator;
+
+/**
+ * Class Description: Measures how long the -pl and -po reports take to format
+ * for a large synthetic repository.
+ *
+ * The original report built a TreeSet of file names and sorted every file's
+ * boxed line list for each word. ReportWriter reads the already sorted line
+ * lists and, when the files were registered in path order, the word's files in
+ * id order. Both are timed here with the console output discarded, along with
+ * ReportWriter on a registry whose files were registered out of order.
+ *
+ * Run with: java -cp bin benchmarks.ReportBenchmark [words] [files]
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class ReportBenchmark
+{
+	/**
+	 * Builds the repository and prints the median time of each report.
+	 *
+	 * @param args the number of words and the number of files, both optional
+	 * @throws Exception if a report fails
+	 */
+	public static void main( String[] args ) throws Exception
+	{
+		int wordCount = args.length > 0 ? Integer.parseInt( args[0] ) : 200000;
+		int fileCount = args.length > 1 ? Integer.parseInt( args[1] ) : 50;
+		Harness harness = Harness.fromProperties();
+		run( harness, wordCount, fileCount );
+		System.out.println( "sink " + harness.getSink() );
+	}
+
+	/**
+	 * Builds the repository and times each report with the given harness.
+	 *
+	 * @param harness the harness to time with
+	 * @param wordCount the number of words in the repository
+	 * @param fileCount the number of files in the repository
+	 * @throws Exception if a report fails
+	 */
+	public static void run( Harness harness, int wordCount, int fileCount ) throws Exception
+	{
+		FileRegistry sortedFiles = new FileRegistry();
+		FileRegistry shuffledFiles = new FileRegistry();
+		List<String> names = new ArrayList<>();
+		for( int i = 0; i < fileCount; i++ )
+		{
+			names.add( String.format( "res/file%03d.txt", i ) );
+			sortedFiles.register( names.get( i ) );
+		}
+		List<String> shuffled = new ArrayList<>( names );
+		Collections.shuffle( shuffled, new Random( 7 ) );
+		for( String name : shuffled )
+		{
+			shuffledFiles.register( name );
+		}
+
+		BSTree<WordData> words = new BalancedBSTree<WordData>();
+		BSTree<WordData> shuffledWords = new BalancedBSTree<WordData>();
+		List<Map<String, List<Integer>>> legacy = new ArrayList<>();
+		Random random = new Random( 42 );
+		for( int w = 0; w < wordCount; w++ )
+		{
+			String word = String.format( "w%07d", w );
+			WordData data = new WordData( word );
+			WordData shuffledData = new WordData( word );
+			Map<String, List<Integer>> fileLines = new HashMap<>();
+
+			int files = 1 + random.nextInt( 6 );
+			for( int f = 0; f < files; f++ )
+			{
+				String name = names.get( random.nextInt( fileCount ) );
+				List<Integer> lines = fileLines.computeIfAbsent( name, key -> new ArrayList<>() );
+				int line = 0;
+				for( int l = 1 + random.nextInt( 12 ); l > 0; l-- )
+				{
+					line += 1 + random.nextInt( 40 );
+					data.addOccurrence( sortedFiles.getId( name ), line );
+					shuffledData.addOccurrence( shuffledFiles.getId( name ), line );
+					lines.add( line );
+				}
+			}
+			words.add( data );
+			shuffledWords.add( shuffledData );
+			legacy.add( fileLines );
+		}
+
+		PrintStream console = System.out;
+		System.setOut( new PrintStream( new OutputStream()
+		{
+			@Override
+			public void write( int b )
+			{
+			}
+
+			@Override
+			public void write( byte[] b, int off, int len )
+			{
+			}
+		} ) );
+
+		try
+		{
+			for( String option : new String[] { "-pl", "-po" } )
+			{
+				harness.section( option + " report of " + wordCount + " words across " + fileCount + " files" );
+				harness.measure( "original TreeSet + sort", wordCount, () -> legacyReport( words, legacy, option ) );
+				harness.measure( "ReportWriter, files in order", wordCount, () -> report( sortedFiles, words, option ) );
+				harness.measure( "ReportWriter, files shuffled", wordCount,
+						() -> report( shuffledFiles, shuffledWords, option ) );
+			}
+		}
+		finally
+		{
+			System.setOut( console );
+		}
+	}
+
+	/**
+	 * Writes the report through ReportWriter.
+	 *
+	 * @param files the registry the words refer to
+	 * @param words the words to report
+	 * @param option the report option
+	 * @return the number of words reported
+	 * @throws IOException if the report cannot be written
+	 */
+	private static long report( FileRegistry files, BSTree<WordData> words, String option ) throws IOException
+	{
+		try( ReportWriter report = new ReportWriter( files, null ) )
+		{
+			Iterator<WordData> iterator = words.inorderIterator();
+			while( iterator.hasNext() )
+			{
+				report.write( iterator.next(), option );
+			}
+		}
+		return words.size();
+	}
+
+	/**
+	 * Builds the report the way printWords originally did, from a map of file
+	 * names to unsorted boxed line lists per word.
+	 *
+	 * @param words the words to report, in order
+	 * @param legacy the line lists of each word, in the same order
+	 * @param option the report option
+	 * @return the length of the report
+	 */
+	private static long legacyReport( BSTree<WordData> words, List<Map<String, List<Integer>>> legacy,
+			String option )
+	{
+		Iterator<WordData> iterator = words.inorderIterator();
+		StringBuilder lineData = new StringBuilder();
+		int w = 0;
+
+		while( iterator.hasNext() )
+		{
+			WordData data = iterator.next();
+			lineData.append( "Key : ===" + data.getWord() + "=== " );
+
+			Map<String, List<Integer>> fileLines = legacy.get( w++ );
+			Set<String> fileNames = new TreeSet<>( fileLines.keySet() );
+			int totalCount = 0;
+
+			for( String fileName : fileNames )
+			{
+				lineData.append( " found in file: " + fileName );
+
+				if( option.equals( "-pl" ) || option.equals( "-po" ) )
+				{
+					List<Integer> lineNumbers = fileLines.get( fileName );
+					Collections.sort( lineNumbers );
+
+					lineData.append( " on lines: " );
+					for( int i = 0; i < lineNumbers.size(); i++ )
+					{
+						lineData.append( lineNumbers.get( i ) );
+						totalCount++;
+						if( i < lineNumbers.size() - 1 )
+						{
+							lineData.append( ", " );
+						}
+					}
+				}
+
+				if( option.equals( "-po" ) )
+				{
+					lineData.append( " number of entries: " + totalCount );
+				}
+			}
+			lineData.append( "\n" );
+		}
+		System.out.println( lineData );
+		return lineData.length();
+	}
+}
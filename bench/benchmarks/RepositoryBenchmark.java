@@ -0,0 +1,116 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import appDomain.MappedRepository;
+import appDomain.RepositoryFile;
+import implementations.BSTree;
+import implementations.BalancedBSTree;
+import implementations.FileRegistry;
+import implementations.WordData;
+import utilities.Iterator;
+
+/**
+ * Class Description: Measures saving and loading the repository built from a
+ * generated corpus: a full write, a full read, appending a small journal
+ * segment, and looking words up in the memory-mapped repository.
+ *
+ * Run with: java -cp bin benchmarks.RepositoryBenchmark [megabytes] [files]
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class RepositoryBenchmark
+{
+	private static final int LOOKUPS = 10000;
+
+	/**
+	 * Generates the corpus and runs every repository benchmark.
+	 *
+	 * @param args the size of the corpus in megabytes, 32 by default, and the
+	 *        number of files, 64 by default
+	 * @throws Exception if a benchmark fails
+	 */
+	public static void main( String[] args ) throws Exception
+	{
+		int megabytes = args.length > 0 ? Integer.parseInt( args[0] ) : 32;
+		int files = args.length > 1 ? Integer.parseInt( args[1] ) : 64;
+		Harness harness = Harness.fromProperties();
+
+		Corpus corpus = new Corpus( files, megabytes * 1024L * 1024, 42 );
+		try
+		{
+			run( harness, corpus );
+		}
+		finally
+		{
+			corpus.delete();
+		}
+		System.out.println( "sink " + harness.getSink() );
+	}
+
+	/**
+	 * Runs every repository benchmark on the index of a corpus. The repository is
+	 * written next to the corpus files.
+	 *
+	 * @param harness the harness to time with
+	 * @param corpus the files to index
+	 * @throws Exception if a benchmark fails
+	 */
+	public static void run( Harness harness, Corpus corpus ) throws Exception
+	{
+		FileRegistry registry = new FileRegistry();
+		BSTree<WordData> index = ParseBenchmark.index( corpus, registry );
+		String path = corpus.getDirectory().resolve( "repository.ser" ).toString();
+		RepositoryFile repo = new RepositoryFile( path );
+
+		// one new line in each of a few hundred words, as a small run would add
+		int lastFile = registry.register( "added.txt" );
+		BSTree<WordData> delta = new BalancedBSTree<WordData>();
+		List<String> words = new ArrayList<>();
+		Iterator<WordData> iterator = index.inorderIterator();
+		for( int i = 0; iterator.hasNext(); i++ )
+		{
+			String word = iterator.next().getWord();
+			words.add( word );
+			if( i % 100 == 0 )
+			{
+				WordData data = new WordData( word );
+				data.addOccurrence( lastFile, i );
+				delta.add( data );
+			}
+		}
+
+		harness.section( "Repository of " + index.size() + " words from " + corpus.getFiles().size() + " files" );
+		harness.measure( "write (compacting)", index.size(), () -> {
+			repo.write( registry, index );
+			return 1;
+		} );
+		harness.measure( "read", index.size(), () -> repo.read( new FileRegistry() ).size() );
+		harness.measure( "append a " + delta.size() + "-word segment", delta.size(), () -> {
+			repo.append( registry, delta );
+			return 1;
+		} );
+		// the journal would otherwise keep growing with every run
+		repo.write( registry, index );
+
+		Random random = new Random( 42 );
+		String[] probes = new String[LOOKUPS];
+		for( int i = 0; i < LOOKUPS; i++ )
+		{
+			probes[i] = words.get( random.nextInt( words.size() ) );
+		}
+		harness.measure( "open mapped repository", 0, () -> new MappedRepository( path ).getFiles().size() );
+		MappedRepository mapped = new MappedRepository( path );
+		harness.measure( LOOKUPS + " mapped lookups", LOOKUPS, () -> {
+			long files = 0;
+			for( String probe : probes )
+			{
+				files += mapped.lookup( probe ).getFileCount();
+			}
+			return files;
+		} );
+	}
+}
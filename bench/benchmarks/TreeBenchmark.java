@@ -0,0 +1,285 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import implementations.BSTree;
+import implementations.BSTreeNode;
+import implementations.BalancedBSTree;
+import implementations.ConcurrentBSTree;
+import implementations.WordData;
+import utilities.Iterator;
+
+/**
+ * Class Description: Benchmarks the BSTree and BalancedBSTree operations that
+ * WordTracker relies on: add, search and contains with keys arriving in random,
+ * sorted and reverse-sorted order, full iteration in each order, and recording
+ * occurrences in a WordData.
+ *
+ * The plain BSTree degenerates into a list when keys arrive sorted, so those
+ * cases are capped at 10,000 keys to keep each run short.
+ *
+ * Run with: java -cp bin benchmarks.TreeBenchmark [keys]
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class TreeBenchmark
+{
+	private static final int DEGENERATE_LIMIT = 10000;
+
+	/**
+	 * Runs every tree benchmark.
+	 *
+	 * @param args the number of keys, 100,000 by default
+	 * @throws Exception if a benchmark fails
+	 */
+	public static void main( String[] args ) throws Exception
+	{
+		int size = args.length > 0 ? Integer.parseInt( args[0] ) : 100000;
+		Harness harness = Harness.fromProperties();
+		run( harness, size );
+		System.out.println( "sink " + harness.getSink() );
+	}
+
+	/**
+	 * Runs every tree benchmark with the given harness.
+	 *
+	 * @param harness the harness to time with
+	 * @param size the number of keys
+	 * @throws Exception if a benchmark fails
+	 */
+	public static void run( Harness harness, int size ) throws Exception
+	{
+		Integer[] random = new Integer[size];
+		for( int i = 0; i < size; i++ )
+		{
+			random[i] = i;
+		}
+		shuffle( random, new Random( 42 ) );
+		Integer[] sorted = random.clone();
+		Arrays.sort( sorted );
+		Integer[] reverse = new Integer[size];
+		for( int i = 0; i < size; i++ )
+		{
+			reverse[i] = sorted[size - 1 - i];
+		}
+		// the keys searched for, in an order unrelated to the insertion order
+		Integer[] probes = sorted.clone();
+		shuffle( probes, new Random( 7 ) );
+
+		measureTree( harness, "BSTree", BSTree::new, random, probes, "random" );
+		measureTree( harness, "BSTree", BSTree::new, limit( sorted ), limit( probes ), "sorted" );
+		measureTree( harness, "BSTree", BSTree::new, limit( reverse ), limit( probes ), "reverse" );
+		measureTree( harness, "BalancedBSTree", BalancedBSTree::new, random, probes, "random" );
+		measureTree( harness, "BalancedBSTree", BalancedBSTree::new, sorted, probes, "sorted" );
+		measureTree( harness, "BalancedBSTree", BalancedBSTree::new, reverse, probes, "reverse" );
+
+		harness.section( "Building from " + size + " sorted keys" );
+		harness.measure( "BalancedBSTree.add, one at a time", size, () -> build( BalancedBSTree::new, sorted ).size() );
+		harness.measure( "BalancedBSTree.rebuild", size, () -> {
+			BSTree<Integer> built = new BalancedBSTree<Integer>();
+			built.rebuild( sorted );
+			return built.getHeight();
+		} );
+		harness.measure( "ConcurrentBSTree.rebuild", size, () -> {
+			BSTree<Integer> built = new ConcurrentBSTree<Integer>();
+			built.rebuild( sorted );
+			return built.getHeight();
+		} );
+
+		harness.section( "Merging two indexes of " + size + " words, half of them shared" );
+		BSTree<WordData> first = new BalancedBSTree<WordData>();
+		BSTree<WordData> second = new BalancedBSTree<WordData>();
+		for( int i = 0; i < size; i++ )
+		{
+			first.add( word( i, 0 ) );
+			second.add( word( i + size / 2, 1 ) );
+		}
+		harness.measure( "replace, word by word", size, () -> {
+			ConcurrentBSTree<WordData> merged = new ConcurrentBSTree<WordData>( first );
+			Iterator<WordData> iterator = second.inorderIterator();
+			while( iterator.hasNext() )
+			{
+				WordData data = iterator.next();
+				BSTreeNode<WordData> node = merged.search( data );
+				merged.replace( node == null ? null : node.getElement(),
+						node == null ? data : mergedCopy( node.getElement(), data ) );
+			}
+			return merged.size();
+		} );
+		harness.measure( "merge", size, () -> {
+			ConcurrentBSTree<WordData> merged = new ConcurrentBSTree<WordData>( first );
+			merged.merge( second, TreeBenchmark::mergedCopy );
+			return merged.size();
+		} );
+
+		harness.section( "Iteration over " + size + " keys (BalancedBSTree)" );
+		BSTree<Integer> tree = build( BalancedBSTree::new, random );
+		harness.measure( "inorderIterator", size, () -> drain( tree.inorderIterator() ) );
+		harness.measure( "preorderIterator", size, () -> drain( tree.preorderIterator() ) );
+		harness.measure( "postorderIterator", size, () -> drain( tree.postorderIterator() ) );
+
+		harness.section( "WordData.addOccurrence" );
+		int occurrences = size * 10;
+		harness.measure( occurrences + " lines in order, 10 files", occurrences, () -> {
+			WordData data = new WordData( "word" );
+			for( int i = 0; i < occurrences; i++ )
+			{
+				data.addOccurrence( i % 10, i / 10 );
+			}
+			return data.getFileCount();
+		} );
+		harness.measure( occurrences + " lines, each file in turn", occurrences, () -> {
+			WordData data = new WordData( "word" );
+			for( int file = 0; file < 10; file++ )
+			{
+				for( int line = 0; line < size; line++ )
+				{
+					data.addOccurrence( file, line );
+				}
+			}
+			return data.getFileCount();
+		} );
+	}
+
+	/**
+	 * Times add, search and contains for one kind of tree and one key order.
+	 *
+	 * @param harness the harness to time with
+	 * @param name the name of the tree class
+	 * @param factory creates an empty tree
+	 * @param keys the keys to add, in insertion order
+	 * @param probes the keys to search for
+	 * @param order the name of the insertion order
+	 * @throws Exception if a benchmark fails
+	 */
+	private static void measureTree( Harness harness, String name, Supplier<BSTree<Integer>> factory,
+			Integer[] keys, Integer[] probes, String order ) throws Exception
+	{
+		harness.section( name + ", " + keys.length + " keys in " + order + " order" );
+		harness.measure( "add", keys.length, () -> build( factory, keys ).size() );
+
+		BSTree<Integer> tree = build( factory, keys );
+		harness.measure( "search", probes.length, () -> {
+			long found = 0;
+			for( Integer probe : probes )
+			{
+				found += tree.search( probe ) != null ? 1 : 0;
+			}
+			return found;
+		} );
+		harness.measure( "contains, every other key absent", probes.length, () -> {
+			long found = 0;
+			for( int i = 0; i < probes.length; i++ )
+			{
+				// odd positions probe past the largest key, which is never stored
+				found += tree.contains( ( i & 1 ) == 0 ? probes[i] : probes[i] + keys.length ) ? 1 : 0;
+			}
+			return found;
+		} );
+	}
+
+	/**
+	 * Builds a tree from the keys.
+	 *
+	 * @param factory creates an empty tree
+	 * @param keys the keys to add, in order
+	 * @return the tree
+	 */
+	private static BSTree<Integer> build( Supplier<BSTree<Integer>> factory, Integer[] keys )
+	{
+		BSTree<Integer> tree = factory.get();
+		for( Integer key : keys )
+		{
+			tree.add( key );
+		}
+		return tree;
+	}
+
+	/**
+	 * Creates a word with a single occurrence.
+	 *
+	 * @param key the number the word is made from
+	 * @param fileId the file the word was found in
+	 * @return the word
+	 */
+	private static WordData word( int key, int fileId )
+	{
+		WordData data = new WordData( String.format( "w%08d", key ) );
+		data.addOccurrence( fileId, 1 + key % 100 );
+		return data;
+	}
+
+	/**
+	 * Merges the occurrences of two words into a copy of the first.
+	 *
+	 * @param data the word to copy
+	 * @param more the word whose occurrences to add
+	 * @return the merged copy
+	 */
+	private static WordData mergedCopy( WordData data, WordData more )
+	{
+		WordData merged = data.copy();
+		merged.merge( more );
+		return merged;
+	}
+
+	/**
+	 * Walks an iterator to the end.
+	 *
+	 * @param iterator the iterator
+	 * @return the sum of the elements
+	 */
+	private static long drain( Iterator<Integer> iterator )
+	{
+		long sum = 0;
+		while( iterator.hasNext() )
+		{
+			sum += iterator.next();
+		}
+		return sum;
+	}
+
+	/**
+	 * Keeps the degenerate plain BSTree cases to a manageable size.
+	 *
+	 * @param keys the keys
+	 * @return at most DEGENERATE_LIMIT keys
+	 */
+	private static Integer[] limit( Integer[] keys )
+	{
+		if( keys.length <= DEGENERATE_LIMIT )
+		{
+			return keys;
+		}
+		Integer[] limited = new Integer[DEGENERATE_LIMIT];
+		int next = 0;
+		for( Integer key : keys )
+		{
+			if( key < DEGENERATE_LIMIT )
+			{
+				limited[next++] = key;
+			}
+		}
+		return limited;
+	}
+
+	/**
+	 * Shuffles an array in place.
+	 *
+	 * @param keys the array
+	 * @param random the source of randomness
+	 */
+	private static void shuffle( Integer[] keys, Random random )
+	{
+		for( int i = keys.length - 1; i > 0; i-- )
+		{
+			int j = random.nextInt( i + 1 );
+			Integer swap = keys[i];
+			keys[i] = keys[j];
+			keys[j] = swap;
+		}
+	}
+}
@@ -1,56 +1,199 @@
 package appDomain;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
  * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
- * @version 1.2 Dec. 13, 2025
- * 
- * Class Description: 
+ * @version 1.3 Oct. 18, 2026
+ *
+ * Class Description:
  * The main of the program
- * Separates command line arguments, finds the file to read from and starts the word tracker
+ * Separates command line arguments, finds the files to read from and starts the word tracker
  */
 
 public class AppDriver {
 
     public static void main(String[] args) {
-    	String fileName;
+    	List<String> fileNames = new ArrayList<>();
     	String printType;
     	String outputFilePath = null;
+    	Charset charset = Charset.defaultCharset();
+    	int threads = Runtime.getRuntime().availableProcessors();
+    	boolean compact = false;
+    	boolean stats = false;
 
-        if (args.length > 0) {
-        	fileName = args[0].trim();        	
-        }
-        else {
-            System.out.println("Usage: java -jar WordTracker.jar <input.txt> -pf/-pl/-po [-f<output.txt>]");
+    	// -q looks words up in the repository without parsing anything
+    	if (args.length > 0 && args[0].trim().equals("-q")) {
+    		lookup(args);
+    		return;
+    	}
+
+    	// every argument before the print option is an input file or directory
+    	int index = 0;
+    	while (index < args.length && !args[index].trim().startsWith("-")) {
+    		fileNames.add(args[index].trim());
+    		index++;
+    	}
+
+        if (fileNames.isEmpty()) {
+            System.out.println("Usage: java -jar WordTracker.jar <input.txt|directory>... -pf/-pl/-po [-f<output.txt>] [-c<charset>] [-t<threads>] [-compact] [-stats]");
+            System.out.println("       java -jar WordTracker.jar -q <word|prefix*|from..to>... [-pf/-pl/-po] [-f<output.txt>]");
             System.out.println("Example: java -jar WordTracker.jar test1.txt -pf -f<output.txt>");
             return;
         }
-        
-        if (args.length > 1) {
-        	printType = args[1].trim();        	
+
+        if (index < args.length) {
+        	printType = args[index].trim();
+        	index++;
         }
         else {
             System.out.println("Please specify what you want printed using -pf/-pl/-po");
             System.out.println("Example: java -jar WordTracker.jar test1.txt -pl");
             return;
         }
-        
-        if (args.length > 2) {
-        	outputFilePath = args[2].trim();        	
+
+        for (int i = index; i < args.length; i++) {
+        	String option = args[i].trim();
+        	if (option.equals("-compact")) {
+        		compact = true;
+        	}
+        	else if (option.equals("-stats")) {
+        		stats = true;
+        	}
+        	else if (option.startsWith("-c")) {
+        		try {
+        			charset = Charset.forName(option.substring(2));
+        		}
+        		catch (IllegalArgumentException e) {
+        			System.out.println("Error: Unsupported charset '" + option.substring(2) + "'");
+        			return;
+        		}
+        	}
+        	else if (option.startsWith("-t")) {
+        		try {
+        			threads = Integer.parseInt(option.substring(2));
+        		}
+        		catch (NumberFormatException e) {
+        			System.out.println("Error: Invalid thread count '" + option.substring(2) + "'");
+        			return;
+        		}
+        	}
+        	else {
+        		outputFilePath = option;
+        	}
         }
 
-        File file = new File(fileName);
-        if (!file.exists()) {
-            System.out.println("Error: File '" + args[0] + "' not found");
-            return;
+        List<String> inputFiles = new ArrayList<>();
+        for (String fileName : fileNames) {
+        	File file = new File(fileName);
+        	if (!file.exists()) {
+        		System.out.println("Error: File '" + fileName + "' not found");
+        		return;
+        	}
+
+        	if (file.isDirectory()) {
+        		try {
+        			inputFiles.addAll(listFiles(file.toPath()));
+        		}
+        		catch (IOException e) {
+        			System.out.println("Error: Could not read directory '" + fileName + "'");
+        			return;
+        		}
+        	}
+        	else {
+        		inputFiles.add(fileName);
+        	}
         }
-        
-       WordTracker wordTracker = new WordTracker(fileName);
-       wordTracker.loadRepository();
-       wordTracker.parse();
-       wordTracker.printWords(printType, outputFilePath);
-       wordTracker.saveRepository();
+
+       WordTracker wordTracker = new WordTracker(inputFiles, charset, threads);
+       if (stats) {
+    	   wordTracker.getStats().setEnabled(true);
+    	   wordTracker.getStats().register();
+       }
+       if (!wordTracker.loadRepository()) {
+    	   System.out.println("Error: Could not read the repository, so nothing was indexed or saved");
+    	   System.exit(1);
+       }
+       if (!wordTracker.parse()) {
+    	   System.out.println("Error: Not every file could be indexed, so nothing was printed or saved");
+    	   System.exit(1);
+       }
+       // the repository is saved even if the report fails, since the indexing succeeded
+       boolean printed = wordTracker.printWords(printType, outputFilePath);
+       if (compact) {
+    	   wordTracker.compactRepository();
+       }
+       else {
+    	   wordTracker.saveRepository();
+       }
+       if (stats) {
+    	   System.out.println(wordTracker.getStats());
+       }
+       if (!printed) {
+    	   System.exit(1);
+       }
+    }
+
+    /**
+     * Handles the -q command, which prints the given words from the repository.
+     * The words are followed by an optional print option, -po by default, and an
+     * optional output file.
+     *
+     * @param args the command line arguments, starting with -q
+     */
+    private static void lookup(String[] args) {
+    	List<String> words = new ArrayList<>();
+    	String printType = "-po";
+    	String outputFilePath = null;
+
+    	int index = 1;
+    	while (index < args.length && !args[index].trim().startsWith("-")) {
+    		words.add(args[index].trim());
+    		index++;
+    	}
+
+    	if (words.isEmpty()) {
+    		System.out.println("Please specify the words to look up");
+    		System.out.println("Example: java -jar WordTracker.jar -q apple ban* -pl");
+    		return;
+    	}
+
+    	if (index < args.length) {
+    		printType = args[index].trim();
+    		index++;
+    	}
+    	if (index < args.length) {
+    		outputFilePath = args[index].trim();
+    	}
+
+    	WordTracker wordTracker = new WordTracker(new ArrayList<String>(), Charset.defaultCharset(), 1);
+    	if (!wordTracker.lookupWords(words, printType, outputFilePath)) {
+    		System.exit(1);
+    	}
+    }
+
+    /**
+     * Lists every regular file below a directory, in sorted order.
+     *
+     * @param directory the directory to search
+     * @return the paths of the files found
+     * @throws IOException if the directory cannot be walked
+     */
+    private static List<String> listFiles(Path directory) throws IOException {
+    	try (Stream<Path> paths = Files.walk(directory)) {
+    		return paths.filter(Files::isRegularFile)
+    				.map(Path::toString)
+    				.sorted()
+    				.collect(Collectors.toList());
+    	}
     }
 }
@@ -0,0 +1,163 @@
+package appDomain;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Feeds a text file to a WordTokenizer by memory-mapping it through a
+ * FileChannel instead of reading it line by line.
+ *
+ * The file is mapped in large windows. For ASCII-compatible charsets the mapped
+ * bytes go straight to the tokenizer, with no decoding step, and line numbers
+ * come from the newline bytes themselves. Any other charset is decoded window
+ * by window into a reused CharBuffer. Malformed input is replaced rather than
+ * rejected, the same as the FileReader this replaces.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class MappedFileScanner {
+
+	private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+	private static final int CHAR_BUFFER_SIZE = 64 * 1024;
+
+	private final Charset charset;
+	private final long windowSize;
+	private final boolean asciiCompatible;
+
+	/**
+	 * Constructor for MappedFileScanner
+	 *
+	 * @param charset the encoding of the files that will be scanned
+	 */
+	public MappedFileScanner(Charset charset) {
+		this(charset, WINDOW_SIZE);
+	}
+
+	/**
+	 * Constructor for MappedFileScanner with a given window size, so that tests
+	 * can make words and line breaks straddle windows in small files.
+	 *
+	 * @param charset the encoding of the files that will be scanned
+	 * @param windowSize the number of bytes to map at a time
+	 */
+	MappedFileScanner(Charset charset, long windowSize) {
+		this.charset = charset;
+		this.windowSize = windowSize;
+		this.asciiCompatible = charset.equals(StandardCharsets.UTF_8)
+				|| charset.equals(StandardCharsets.US_ASCII)
+				|| charset.equals(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Tokenizes the whole file, finishing the tokenizer at the end.
+	 *
+	 * @param fileName the path of the file to scan
+	 * @param tokenizer receives the contents of the file
+	 * @throws IOException if the file cannot be opened or read
+	 */
+	public void scan(String fileName, WordTokenizer tokenizer) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			if (asciiCompatible) {
+				scanBytes(channel, tokenizer);
+			}
+			else {
+				scanDecoded(channel, tokenizer);
+			}
+		}
+		tokenizer.finish();
+	}
+
+	/**
+	 * Maps the file window by window and hands the raw bytes to the tokenizer.
+	 *
+	 * @param channel the open file
+	 * @param tokenizer receives the bytes
+	 * @throws IOException if the file cannot be mapped
+	 */
+	private void scanBytes(FileChannel channel, WordTokenizer tokenizer) throws IOException {
+		long size = channel.size();
+		long position = 0;
+
+		while (position < size) {
+			long length = Math.min(windowSize, size - position);
+			MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+			tokenizer.acceptAscii(window);
+			position += length;
+		}
+	}
+
+	/**
+	 * Maps the file window by window and decodes it into characters for the
+	 * tokenizer. A character split across two windows is left undecoded at the end
+	 * of the first and the next window is mapped starting from its first byte.
+	 *
+	 * @param channel the open file
+	 * @param tokenizer receives the decoded characters
+	 * @throws IOException if the file cannot be mapped or decoded
+	 */
+	private void scanDecoded(FileChannel channel, WordTokenizer tokenizer) throws IOException {
+		CharsetDecoder decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+		long size = channel.size();
+		long position = 0;
+
+		while (position < size) {
+			long length = Math.min(windowSize, size - position);
+			boolean endOfInput = position + length == size;
+			MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+			CoderResult result;
+			do {
+				result = decoder.decode(window, chars, endOfInput);
+				drain(chars, tokenizer);
+			} while (result.isOverflow());
+			checkResult(result);
+
+			position += window.position();
+		}
+
+		CoderResult result;
+		do {
+			result = decoder.flush(chars);
+			drain(chars, tokenizer);
+		} while (result.isOverflow());
+		checkResult(result);
+	}
+
+	/**
+	 * Passes the decoded characters to the tokenizer and empties the buffer.
+	 *
+	 * @param chars the buffer the decoder wrote to
+	 * @param tokenizer receives the characters
+	 */
+	private void drain(CharBuffer chars, WordTokenizer tokenizer) {
+		tokenizer.accept(chars.array(), chars.arrayOffset(), chars.position());
+		chars.clear();
+	}
+
+	/**
+	 * Throws if the decoder stopped for any reason other than running out of input
+	 * or output.
+	 *
+	 * @param result the result of the last decoding step
+	 * @throws CharacterCodingException if the decoder reported an error
+	 */
+	private void checkResult(CoderResult result) throws CharacterCodingException {
+		if (result.isError()) {
+			result.throwException();
+		}
+	}
+}
@@ -0,0 +1,440 @@
+package appDomain;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import implementations.BSTree;
+import implementations.BSTreeNode;
+import implementations.BalancedBSTree;
+import implementations.FileRegistry;
+import implementations.WordData;
+import utilities.Iterator;
+
+/**
+ * A read-only view of the word repository that answers lookups straight from
+ * the memory-mapped repository file, without loading the tree into memory.
+ *
+ * Opening the repository only maps the file and reads its file table. A lookup
+ * binary searches the table of word offsets at the end of the file, comparing
+ * against the words stored at those offsets, and only the words that are
+ * actually returned are turned into WordData objects. Segments appended to the
+ * journal since the last compaction are small by design, so they are read into
+ * memory and laid over the mapped words. The occurrences of files the journal
+ * purges are left out of the mapped words as they are read. A segment that was
+ * cut short is skipped but left in the journal for the writer to repair. The
+ * list of each file's words kept after the table of word offsets lets the
+ * words a file appears in be found without reading the others.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class MappedRepository {
+
+	private final FileRegistry files;
+	private final ByteBuffer buffer;
+	private final int[] fileIds;
+	private final int wordCount;
+	private final int tableOffset;
+	private final int fileTableOffset;
+	private final BSTree<WordData> journal;
+	private final BitSet purged;
+
+	/**
+	 * Constructor for MappedRepository
+	 *
+	 * @param fileName the path of the repository file
+	 * @throws IOException if the repository cannot be mapped, or was written in
+	 *         a format without a table of word offsets
+	 */
+	public MappedRepository(String fileName) throws IOException {
+		Path path = Paths.get(fileName);
+		files = new FileRegistry();
+
+		if (Files.exists(path)) {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				if (channel.size() > Integer.MAX_VALUE) {
+					throw new IOException("Repository is too large to map: " + fileName);
+				}
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+
+			DataInput input = inputAt(0);
+			if (buffer.limit() < 8 || input.readInt() != RepositoryFile.MAGIC) {
+				throw new IOException("Not a WordTracker repository, rebuild it with -compact: " + fileName);
+			}
+			int version = input.readInt();
+			if (version < 2 || version > RepositoryFile.VERSION) {
+				throw new IOException("Repository version " + version
+						+ " cannot be mapped, rebuild it with -compact: " + fileName);
+			}
+
+			fileIds = new int[RepositoryFile.readVarInt(input)];
+			for (int i = 0; i < fileIds.length; i++) {
+				fileIds[i] = files.register(input.readUTF());
+			}
+			wordCount = RepositoryFile.readVarInt(input);
+			tableOffset = buffer.getInt(buffer.limit() - 4);
+			// version 2 files end after the table of word offsets
+			fileTableOffset = version >= 3 ? buffer.getInt(buffer.limit() - 8) : -1;
+		}
+		else {
+			buffer = null;
+			fileIds = new int[0];
+			wordCount = 0;
+			tableOffset = 0;
+			fileTableOffset = 0;
+		}
+
+		journal = new BalancedBSTree<WordData>();
+		purged = new RepositoryFile(fileName).readJournal(files, journal, false);
+	}
+
+	/**
+	 * Getter for the registry of the files in the repository.
+	 *
+	 * @return the registry the file ids of the returned words refer to
+	 */
+	public FileRegistry getFiles() {
+		return files;
+	}
+
+	/**
+	 * Looks up a single word.
+	 *
+	 * @param word the word to look up
+	 * @return the word with all of its occurrences, or null if it is not in the
+	 *         repository
+	 */
+	public WordData lookup(String word) {
+		WordData data = null;
+		int index = lowerBound(word);
+		if (index < wordCount && wordAt(index).equals(word)) {
+			data = readWord(index);
+			if (data.getFileCount() == 0) {
+				data = null;
+			}
+		}
+
+		BSTreeNode<WordData> added = journal.search(new WordData(word));
+		if (added == null) {
+			return data;
+		}
+		if (data == null) {
+			return added.getElement();
+		}
+		data.merge(added.getElement());
+		return data;
+	}
+
+	/**
+	 * Finds the words a file appears in, from the list of the file's words kept
+	 * at the end of the repository file and from the journal's words, without
+	 * reading any other words.
+	 *
+	 * @param fileName the path of the file
+	 * @return the words the file appears in, in no particular order, or null if
+	 *         the repository file was written before it kept the lists of each
+	 *         file's words
+	 */
+	public List<String> wordsOf(String fileName) {
+		if (fileTableOffset < 0) {
+			return null;
+		}
+		List<String> words = new ArrayList<>();
+		int fileId = files.getId(fileName);
+		if (fileId < 0) {
+			return words;
+		}
+
+		// the occurrences in the repository file are gone once the file is purged
+		for (int stored = 0; stored < fileIds.length && !purged.get(fileId); stored++) {
+			if (fileIds[stored] == fileId) {
+				try {
+					DataInput input = inputAt(buffer.getInt(fileTableOffset + stored * 4));
+					int index = 0;
+					for (int count = RepositoryFile.readVarInt(input); count > 0; count--) {
+						index += RepositoryFile.readVarInt(input);
+						words.add(wordAt(index));
+					}
+				}
+				catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+
+		Iterator<WordData> iterator = journal.inorderIterator();
+		while (iterator.hasNext()) {
+			WordData data = iterator.next();
+			for (int i = 0; i < data.getFileCount(); i++) {
+				if (data.getFileId(i) == fileId) {
+					words.add(data.getWord());
+				}
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Iterates over the words from one word up to, but not including, another, in
+	 * sorted order.
+	 *
+	 * @param from the smallest word to return
+	 * @param to the word to stop at, or null to carry on to the last word
+	 * @return an iterator over the words in the range
+	 */
+	public Iterator<WordData> range(String from, String to) {
+		return new RangeIterator(from, to);
+	}
+
+	/**
+	 * Iterates over every word that starts with the given prefix, in sorted order.
+	 *
+	 * @param prefix the start shared by the words to return
+	 * @return an iterator over the words with the prefix
+	 */
+	public Iterator<WordData> prefix(String prefix) {
+		return range(prefix, prefixEnd(prefix));
+	}
+
+	/**
+	 * Finds the first string after every string that starts with the given prefix,
+	 * so the words with the prefix are the range from the prefix up to it.
+	 *
+	 * @param prefix the start shared by the words
+	 * @return the end of the range, or null if the prefix is empty
+	 */
+	static String prefixEnd(String prefix) {
+		if (prefix.isEmpty()) {
+			return null;
+		}
+		int last = prefix.length() - 1;
+		return prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+	}
+
+	/**
+	 * Finds the index of the first stored word that is not smaller than the given
+	 * word.
+	 *
+	 * @param word the word to search for
+	 * @return the index of the word, or of where it would be
+	 */
+	private int lowerBound(String word) {
+		int low = 0;
+		int high = wordCount;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (wordAt(middle).compareTo(word) < 0) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Reads only the word stored at an index, skipping its occurrences.
+	 *
+	 * @param index the position of the word in sorted order
+	 * @return the word
+	 */
+	private String wordAt(int index) {
+		try {
+			return inputAt(offsetOf(index)).readUTF();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Reads the word stored at an index along with its occurrences, leaving out
+	 * those in files purged by the journal.
+	 *
+	 * @param index the position of the word in sorted order
+	 * @return a new WordData holding the word, which has no files left if it
+	 *         only appeared in purged files
+	 */
+	private WordData readWord(int index) {
+		try {
+			WordData data = RepositoryFile.readWord(inputAt(offsetOf(index)), fileIds);
+			for (int fileId = purged.nextSetBit(0); fileId >= 0; fileId = purged.nextSetBit(fileId + 1)) {
+				data = data.withoutFile(fileId);
+			}
+			return data;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Reads the offset of the word stored at an index from the table of offsets.
+	 *
+	 * @param index the position of the word in sorted order
+	 * @return the offset of the word from the start of the file
+	 */
+	private int offsetOf(int index) {
+		return buffer.getInt(tableOffset + index * 4);
+	}
+
+	/**
+	 * Opens a stream over the mapped file, starting at the given offset.
+	 *
+	 * @param offset the offset to start reading from
+	 * @return a stream reading from the mapped file
+	 */
+	private DataInput inputAt(int offset) {
+		ByteBuffer view = buffer.duplicate();
+		view.position(offset);
+		return new DataInputStream(new ByteBufferInputStream(view));
+	}
+
+	/**
+	 * Walks the mapped words and the journal's words of a range side by side,
+	 * merging the occurrences of words found in both. Mapped words that only
+	 * appeared in purged files are skipped, so the next word is found ahead of
+	 * time to know whether there is one.
+	 */
+	private class RangeIterator implements Iterator<WordData> {
+
+		private int index;
+		private final int end;
+		private final String to;
+		private final Iterator<WordData> added;
+		private WordData nextAdded;
+		private WordData nextWord;
+
+		/**
+		 * Constructor for RangeIterator
+		 *
+		 * @param from the smallest word to return
+		 * @param to the word to stop at, or null to carry on to the last word
+		 */
+		RangeIterator(String from, String to) {
+			this.index = lowerBound(from);
+			this.end = to == null ? wordCount : Math.max(index, lowerBound(to));
+			this.to = to;
+			this.added = journal.inorderIterator();
+
+			// the journal is small, so it is simply skipped forward to the range
+			advanceAdded();
+			while (nextAdded != null && nextAdded.getWord().compareTo(from) < 0) {
+				advanceAdded();
+			}
+			nextWord = fetch();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextWord != null;
+		}
+
+		@Override
+		public WordData next() throws NoSuchElementException {
+			if (nextWord == null) {
+				throw new NoSuchElementException();
+			}
+			WordData data = nextWord;
+			nextWord = fetch();
+			return data;
+		}
+
+		/**
+		 * Reads the next word of the range that still has occurrences.
+		 *
+		 * @return the word, or null once the range has run out
+		 */
+		private WordData fetch() {
+			while (index < end || nextAdded != null) {
+				int comparison;
+				if (index == end) {
+					comparison = 1;
+				}
+				else if (nextAdded == null) {
+					comparison = -1;
+				}
+				else {
+					comparison = wordAt(index).compareTo(nextAdded.getWord());
+				}
+
+				if (comparison > 0) {
+					WordData data = nextAdded;
+					advanceAdded();
+					return data;
+				}
+
+				WordData data = readWord(index++);
+				if (comparison == 0) {
+					data.merge(nextAdded);
+					advanceAdded();
+				}
+				if (data.getFileCount() > 0) {
+					return data;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Moves on to the journal's next word, or to null once past the range.
+		 */
+		private void advanceAdded() {
+			nextAdded = added.hasNext() ? added.next() : null;
+			if (nextAdded != null && to != null && nextAdded.getWord().compareTo(to) >= 0) {
+				nextAdded = null;
+			}
+		}
+	}
+
+	/**
+	 * An InputStream reading from a ByteBuffer, so the mapped file can be read
+	 * through a DataInputStream.
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		/**
+		 * Constructor for ByteBufferInputStream
+		 *
+		 * @param buffer the buffer to read from its position onwards
+		 */
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			length = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, length);
+			return length;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package appDomain;
+
+import java.util.Arrays;
+
+import implementations.FileRegistry;
+import implementations.LineList;
+import implementations.WordData;
+
+/**
+ * Formats the lines of the report printed by WordTracker, one word at a time.
+ *
+ * A formatter reuses its scratch arrays from one word to the next, so each
+ * thread formatting part of a report needs a formatter of its own.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class ReportFormatter {
+
+	private final FileRegistry files;
+	private int[] fileOrder;
+	private long[] rankKeys;
+
+	/**
+	 * Constructor for ReportFormatter
+	 * 
+	 * @param files the registry the file ids of the reported words refer to
+	 */
+	public ReportFormatter(FileRegistry files) {
+		this.files = files;
+		this.fileOrder = new int[16];
+		this.rankKeys = new long[16];
+
+		// works out the registry's name ranks now, on the thread creating the
+		// formatter, so that formatting only ever reads them
+		if (files.size() > 0) {
+			files.getNameRank(0);
+		}
+	}
+
+	/**
+	 * Appends the line describing one word to a buffer. Line numbers are kept in
+	 * increasing order as they are added and the files are visited in order of
+	 * their paths, so the line is built in a single pass over the word's data.
+	 * 
+	 * @param lineData the buffer to append to
+	 * @param data the word to describe
+	 * @param Option determines what information will be displayed
+	 */
+	public void append(StringBuilder lineData, WordData data, String Option) {
+		// pf section
+		lineData.append("Key : ===").append(data.getWord()).append("=== ");
+
+		int[] order = sortByName(data);
+		int totalCount = 0;
+	
+		for (int f = 0; f < data.getFileCount(); f++) {
+			int index = order[f];
+			lineData.append(" found in file: ").append(files.getName(data.getFileId(index)));
+		
+			// pl section
+			if (Option.equals("-pl") || Option.equals("-po")) {
+				LineList lineNumbers = data.getLines(index);
+			
+				lineData.append(" on lines: ");
+			
+				for (int i = 0; i < lineNumbers.size(); i++) {
+					lineData.append(lineNumbers.get(i));
+				
+					totalCount++;
+					if (i < lineNumbers.size() - 1) {
+						lineData.append(", ");
+					}
+				}
+			}
+		
+			// po section
+			if (Option.equals("-po")) {
+				lineData.append(" number of entries: ").append(totalCount);
+			}
+		}
+		lineData.append("\n");
+	}
+
+	/**
+	 * Works out the order to list a word's files in, which is by path. A word's
+	 * files are held in id order, and ids normally follow path order, so this
+	 * is usually just the identity; only when files were registered out of
+	 * order are the word's files sorted by their rank in the registry.
+	 * 
+	 * @param data the word whose files are listed
+	 * @return the positions of the word's files, in order of their paths
+	 */
+	private int[] sortByName(WordData data) {
+		int count = data.getFileCount();
+		if (fileOrder.length < count) {
+			fileOrder = new int[Math.max(count, fileOrder.length * 2)];
+			rankKeys = new long[fileOrder.length];
+		}
+
+		boolean sorted = true;
+		int previousRank = -1;
+		for (int i = 0; i < count; i++) {
+			fileOrder[i] = i;
+			if (!files.isInNameOrder()) {
+				int rank = files.getNameRank(data.getFileId(i));
+				sorted &= rank > previousRank;
+				previousRank = rank;
+				rankKeys[i] = (long) rank << 32 | i;
+			}
+		}
+
+		if (!sorted) {
+			Arrays.sort(rankKeys, 0, count);
+			for (int i = 0; i < count; i++) {
+				fileOrder[i] = (int) rankKeys[i];
+			}
+		}
+		return fileOrder;
+	}
+}
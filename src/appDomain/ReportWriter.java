@@ -0,0 +1,165 @@
+package appDomain;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import implementations.FileRegistry;
+import implementations.WordData;
+
+/**
+ * Streams the report printed by WordTracker to the console and, optionally, to
+ * an output file, one entry at a time through buffered writers. Closing the
+ * report prints the same messages about the output file as writing the whole
+ * report at once did.
+ *
+ * The output file is only opened once the first entry is written. If it cannot
+ * be opened or written, the report still goes to the console in full, and the
+ * error is thrown when the report is closed.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class ReportWriter implements Closeable {
+
+	private final ReportFormatter formatter;
+	private final StringBuilder lineData;
+	private final Writer console;
+	private final File outputFile;
+	private Writer output;
+	private boolean created;
+	private IOException outputError;
+	private boolean aborted;
+
+	/**
+	 * Constructor for ReportWriter
+	 * 
+	 * @param files the registry the file ids of the reported words refer to
+	 * @param outputFilePath the path of where the output file will be generated,
+	 *        or null to print to the console only
+	 */
+	public ReportWriter(FileRegistry files, String outputFilePath) {
+		formatter = new ReportFormatter(files);
+		lineData = new StringBuilder();
+		console = new BufferedWriter(new OutputStreamWriter(System.out), 64 * 1024);
+		outputFile = outputFilePath == null ? null : new File(outputFilePath);
+	}
+
+	/**
+	 * Writes the line describing one word.
+	 * 
+	 * @param data the word to describe
+	 * @param Option determines what information will be displayed
+	 * @throws IOException if the console cannot be written
+	 */
+	public void write(WordData data, String Option) throws IOException {
+		lineData.setLength(0);
+		formatter.append(lineData, data, Option);
+		write(lineData);
+	}
+
+	/**
+	 * Writes entries that have already been formatted by a ReportFormatter.
+	 * 
+	 * @param entries the lines describing one or more words
+	 * @throws IOException if the console cannot be written
+	 */
+	public void write(CharSequence entries) throws IOException {
+		console.append(entries);
+		writeOutput(entries);
+	}
+
+	/**
+	 * Writes entries to the output file, opening it first if this is the first
+	 * entry. Once the file has failed, the error is kept for close to throw and
+	 * nothing more is written to it.
+	 * 
+	 * @param entries the lines describing one or more words
+	 */
+	private void writeOutput(CharSequence entries) {
+		if (outputFile == null || outputError != null) {
+			return;
+		}
+		try {
+			if (output == null) {
+				created = outputFile.createNewFile();
+				output = new BufferedWriter(new FileWriter(outputFile), 64 * 1024);
+			}
+			output.append(entries);
+		} catch (IOException e) {
+			outputError = e;
+		}
+	}
+
+	/**
+	 * Writes a line to the console only, in between the report's entries.
+	 * 
+	 * @param message the line to print
+	 * @throws IOException if the console cannot be written
+	 */
+	public void message(String message) throws IOException {
+		console.write(message);
+		console.write(System.lineSeparator());
+	}
+
+	/**
+	 * Gives up on a report that could not be finished, deleting the output file
+	 * so that a partial report is never left behind looking complete. Closing the
+	 * report afterwards only flushes the console.
+	 * 
+	 * @throws IOException if the output file cannot be closed
+	 */
+	public void abort() throws IOException {
+		aborted = true;
+		if (output != null) {
+			output.close();
+			outputFile.delete();
+		}
+	}
+
+	/**
+	 * Flushes the console, closes the output file, and reports where the output
+	 * file was written. System.out itself is left open. If the output file could
+	 * not be written, the partial file is deleted and the error is thrown, after
+	 * the whole report has been printed to the console.
+	 * 
+	 * @throws IOException if the output file cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		console.write(System.lineSeparator());
+		console.flush();
+		if (outputFile == null || aborted) {
+			return;
+		}
+
+		// an empty report still leaves an empty output file behind
+		writeOutput("");
+		if (output != null) {
+			try {
+				output.close();
+			} catch (IOException e) {
+				if (outputError == null) {
+					outputError = e;
+				}
+			}
+		}
+		if (outputError != null) {
+			if (output != null) {
+				outputFile.delete();
+			}
+			throw new IOException("Could not write the report to " + outputFile.getPath(), outputError);
+		}
+
+		if (created) {
+			System.out.println("Created: " + outputFile.getName() + " at path: " + outputFile.getAbsolutePath());
+		} else {
+			System.out.println("Overwriting file: " + outputFile.getName() + " at path: " + outputFile.getAbsolutePath());
+		}
+		System.out.println("Successfully wrote to the file.");
+	}
+}
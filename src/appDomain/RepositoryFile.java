@@ -0,0 +1,670 @@
+package appDomain;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import implementations.BSTree;
+import implementations.BSTreeNode;
+import implementations.BalancedBSTree;
+import implementations.FileRegistry;
+import implementations.LineList;
+import implementations.WordData;
+import utilities.Iterator;
+
+/**
+ * Reads and writes the word repository in a compact, versioned binary format.
+ *
+ * <pre>
+ * int     magic "WTRK"
+ * int     format version
+ * varint  number of files, then the path of each file (writeUTF), in id order
+ * varint  number of words, then for each word in sorted order:
+ *         UTF     the word
+ *         varint  number of files the word appears in, then for each file:
+ *                 varint  file id, as the gap from the previous file id
+ *                 varint  number of lines, then each line as the gap from the previous line
+ * int     the offset of each word from the start of the file, in sorted order
+ * for each file, in id order:
+ *         varint  number of words the file appears in, then the position of
+ *                 each word in sorted order, as the gap from the previous one
+ * int     the offset of each file's list of words, in id order
+ * int     the offset of that table of file offsets
+ * int     the offset of the table of word offsets
+ * </pre>
+ *
+ * The table of word offsets lets MappedRepository look words up with a binary
+ * search without reading the rest of the file, and the lists of each file's
+ * words let it find the words a file appears in without reading every word.
+ * Version 2 files, which end after the table of word offsets, and version 1
+ * files, which end after the words, are still read.
+ *
+ * Repositories written with Java serialization by earlier versions are still
+ * read, and are written back in this format by the next compaction.
+ *
+ * Rather than rewriting the whole repository after every run, the occurrences
+ * a run adds can be appended to a journal kept next to the repository file
+ * (the same name with ".journal" added). The journal is a sequence of
+ * segments, each holding its own file table and words in the layout above:
+ *
+ * <pre>
+ * int     magic "WTSG"
+ * int     number of bytes that follow in the segment
+ * varint  number of files, then the path of each file the segment refers to
+ * varint  number of words, then each word as above
+ * </pre>
+ *
+ * A file that changed after it was indexed has its old occurrences purged
+ * before it is indexed again. The purges go into the same record as the
+ * occurrences added after them, so that a crash never leaves the purges in the
+ * journal without the occurrences that replace them:
+ *
+ * <pre>
+ * int     magic "WTUP"
+ * int     number of bytes that follow in the record
+ * varint  number of files purged, then for each file:
+ *         UTF     the path of the file whose occurrences are removed
+ *         varint  number of words the file appeared in, then each word (writeUTF)
+ * varint  number of files, then the path of each file the record refers to
+ * varint  number of words, then each word as above
+ * </pre>
+ *
+ * Reading replays every record on top of the repository file, in the order
+ * they were appended. A record cut short by a crash is ignored. Writing the whole repository compacts it,
+ * folding the journal into the repository file and deleting the journal.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class RepositoryFile {
+
+	static final int MAGIC = 0x5754524B;
+	static final int VERSION = 3;
+	static final int SEGMENT_MAGIC = 0x57545347;
+	static final int UPDATE_MAGIC = 0x57545550;
+
+	private static final int SERIALIZATION_MAGIC = 0xACED;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Path path;
+	private final Path journal;
+	private long bytesRead;
+	private long bytesWritten;
+
+	/**
+	 * Constructor for RepositoryFile
+	 *
+	 * @param fileName the path of the repository file
+	 */
+	public RepositoryFile(String fileName) {
+		this.path = Paths.get(fileName);
+		this.journal = path.resolveSibling(path.getFileName() + ".journal");
+	}
+
+	/**
+	 * Getter for the number of bytes read from the repository file and its
+	 * journal by this object.
+	 *
+	 * @return the number of bytes read
+	 */
+	public long getBytesRead() {
+		return bytesRead;
+	}
+
+	/**
+	 * Getter for the number of bytes written to the repository file and its
+	 * journal by this object.
+	 *
+	 * @return the number of bytes written
+	 */
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	 * Checks whether the repository file or its journal exists.
+	 *
+	 * @return true if there is a repository to read
+	 */
+	public boolean exists() {
+		return Files.exists(path) || Files.exists(journal);
+	}
+
+	/**
+	 * Checks whether the repository should be compacted rather than appended to:
+	 * when there is no repository file in the current format and version to
+	 * append to, or when the journal has grown larger than the repository file
+	 * itself, so that replaying it costs more than reading the repository.
+	 *
+	 * @return true if the next save should write the whole repository
+	 * @throws IOException if the files cannot be inspected
+	 */
+	public boolean needsCompaction() throws IOException {
+		if (!Files.exists(path)) {
+			return true;
+		}
+		try (DataInputStream input = new DataInputStream(Files.newInputStream(path))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				return true;
+			}
+		}
+		catch (EOFException e) {
+			return true;
+		}
+		return Files.exists(journal) && Files.size(journal) > Files.size(path);
+	}
+
+	/**
+	 * Reads the repository, replaying its journal on top. Every file it mentions
+	 * is registered in the given registry and the words are returned with their
+	 * file ids translated to that registry's ids.
+	 *
+	 * @param files the registry to register the repository's files in
+	 * @return a tree holding every word in the repository
+	 * @throws IOException if the file cannot be read or is not a repository
+	 */
+	public BSTree<WordData> read(FileRegistry files) throws IOException {
+		BSTree<WordData> words = new BalancedBSTree<WordData>();
+		read(files, words);
+		return words;
+	}
+
+	/**
+	 * Reads the repository into the given tree, replaying its journal on top.
+	 * The repository file stores its words in sorted order, so an empty tree is
+	 * built from them directly in O(n) rather than one word at a time.
+	 *
+	 * @param files the registry to register the repository's files in
+	 * @param words the tree to add every word in the repository to
+	 * @throws IOException if the file cannot be read or is not a repository
+	 */
+	public void read(FileRegistry files, BSTree<WordData> words) throws IOException {
+		if (Files.exists(path)) {
+			try (InputStream stream = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+				stream.mark(2);
+				int magic = (stream.read() << 8) | stream.read();
+				stream.reset();
+
+				if (magic == SERIALIZATION_MAGIC) {
+					readSerialized(stream, files, words);
+				}
+				else {
+					readBinary(new DataInputStream(stream), files, words);
+				}
+			}
+			bytesRead += Files.size(path);
+		}
+
+		readJournal(files, words, true);
+	}
+
+	/**
+	 * Writes the whole repository, replacing the existing file only once the new
+	 * one has been written completely, and deletes the journal it supersedes.
+	 *
+	 * @param files the registry the words' file ids refer to
+	 * @param words the words to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(FileRegistry files, BSTree<WordData> words) throws IOException {
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+		int[] fileIds = new int[files.size()];
+		for (int id = 0; id < fileIds.length; id++) {
+			fileIds[id] = id;
+		}
+
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+
+			int[] offsets = new int[words.size()];
+			writeBody(output, files, fileIds, words, offsets);
+
+			int tableOffset = output.size();
+			for (int offset : offsets) {
+				output.writeInt(offset);
+			}
+			writeFileWords(output, fileIds.length, words);
+			output.writeInt(tableOffset);
+			if (output.size() == Integer.MAX_VALUE) {
+				throw new IOException("Repository is too large to index: " + path);
+			}
+			bytesWritten += output.size();
+		}
+
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		Files.deleteIfExists(journal);
+	}
+
+	/**
+	 * Writes the list of the words each file appears in, followed by the table of
+	 * the lists' offsets and the offset of that table.
+	 *
+	 * @param output the stream to write to
+	 * @param fileCount the number of files in the registry the words refer to
+	 * @param words the words written to the stream, in the same order
+	 * @throws IOException if the stream cannot be written
+	 */
+	private static void writeFileWords(DataOutputStream output, int fileCount, BSTree<WordData> words)
+			throws IOException {
+		int[][] positions = new int[fileCount][];
+		int[] counts = new int[fileCount];
+		Iterator<WordData> iterator = words.inorderIterator();
+		for (int w = 0; iterator.hasNext(); w++) {
+			WordData data = iterator.next();
+			for (int i = 0; i < data.getFileCount(); i++) {
+				int fileId = data.getFileId(i);
+				if (positions[fileId] == null) {
+					positions[fileId] = new int[8];
+				}
+				else if (counts[fileId] == positions[fileId].length) {
+					positions[fileId] = Arrays.copyOf(positions[fileId], counts[fileId] * 2);
+				}
+				positions[fileId][counts[fileId]++] = w;
+			}
+		}
+
+		int[] offsets = new int[fileCount];
+		for (int fileId = 0; fileId < fileCount; fileId++) {
+			offsets[fileId] = output.size();
+			writeVarInt(output, counts[fileId]);
+			int previous = 0;
+			for (int i = 0; i < counts[fileId]; i++) {
+				writeVarInt(output, positions[fileId][i] - previous);
+				previous = positions[fileId][i];
+			}
+		}
+
+		int tableOffset = output.size();
+		for (int offset : offsets) {
+			output.writeInt(offset);
+		}
+		output.writeInt(tableOffset);
+	}
+
+	/**
+	 * Appends a segment holding the given words to the journal. Only the files the
+	 * words refer to are listed in the segment, so the cost of appending depends
+	 * on the size of the words and not on the size of the repository.
+	 *
+	 * @param files the registry the words' file ids refer to
+	 * @param words the occurrences to add to the repository
+	 * @throws IOException if the journal cannot be written
+	 */
+	public void append(FileRegistry files, BSTree<WordData> words) throws IOException {
+		append(files, words, Collections.<String, Collection<String>>emptyMap());
+	}
+
+	/**
+	 * Appends a record to the journal that first removes every occurrence of
+	 * the given files from the words before it, dropping the words left without
+	 * occurrences, and then adds the given words. The purges and the words are
+	 * written as one record, so replaying the journal applies both or, if the
+	 * record was cut short, neither. Each purge lists the words its file
+	 * appears in, so that replaying it only visits those words. Without purges
+	 * the record is a plain segment.
+	 *
+	 * @param files the registry the words' file ids refer to
+	 * @param words the occurrences to add to the repository
+	 * @param purges every word each file to purge appears in before the record,
+	 *        keyed by the file's path; listing a word the file does not appear
+	 *        in does no harm
+	 * @throws IOException if the journal cannot be written
+	 */
+	public void append(FileRegistry files, BSTree<WordData> words, Map<String, ? extends Collection<String>> purges)
+			throws IOException {
+		BitSet used = new BitSet(files.size());
+		Iterator<WordData> iterator = words.inorderIterator();
+		while (iterator.hasNext()) {
+			WordData data = iterator.next();
+			for (int i = 0; i < data.getFileCount(); i++) {
+				used.set(data.getFileId(i));
+			}
+		}
+		int[] fileIds = used.stream().toArray();
+
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		DataOutputStream record = new DataOutputStream(body);
+		if (!purges.isEmpty()) {
+			writeVarInt(record, purges.size());
+			for (Map.Entry<String, ? extends Collection<String>> purge : purges.entrySet()) {
+				record.writeUTF(purge.getKey());
+				writeVarInt(record, purge.getValue().size());
+				for (String word : purge.getValue()) {
+					record.writeUTF(word);
+				}
+			}
+		}
+		writeBody(record, files, fileIds, words, null);
+
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(journal, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+				BUFFER_SIZE))) {
+			output.writeInt(purges.isEmpty() ? SEGMENT_MAGIC : UPDATE_MAGIC);
+			output.writeInt(body.size());
+			body.writeTo(output);
+		}
+		bytesWritten += 8 + body.size();
+	}
+
+	/**
+	 * Writes a file table followed by the words.
+	 *
+	 * @param output the stream to write to
+	 * @param files the registry the words' file ids refer to
+	 * @param fileIds the registry ids of the files to list, in increasing order;
+	 *        each is stored as its index in this array
+	 * @param words the words to write
+	 * @param offsets receives the number of bytes written to the stream before
+	 *        each word, or null if they are not needed
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void writeBody(DataOutputStream output, FileRegistry files, int[] fileIds, BSTree<WordData> words,
+			int[] offsets) throws IOException {
+		int[] storedIds = new int[files.size()];
+		writeVarInt(output, fileIds.length);
+		for (int i = 0; i < fileIds.length; i++) {
+			storedIds[fileIds[i]] = i;
+			output.writeUTF(files.getName(fileIds[i]));
+		}
+
+		writeVarInt(output, words.size());
+		Iterator<WordData> iterator = words.inorderIterator();
+		for (int i = 0; iterator.hasNext(); i++) {
+			if (offsets != null) {
+				offsets[i] = output.size();
+			}
+			writeWord(output, iterator.next(), storedIds);
+		}
+	}
+
+	/**
+	 * Writes one word and its occurrences.
+	 *
+	 * @param output the stream to write to
+	 * @param data the word to write
+	 * @param storedIds translates registry ids to the file ids stored in the stream
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void writeWord(DataOutput output, WordData data, int[] storedIds) throws IOException {
+		output.writeUTF(data.getWord());
+		writeVarInt(output, data.getFileCount());
+
+		int previousFile = 0;
+		for (int i = 0; i < data.getFileCount(); i++) {
+			int storedFile = storedIds[data.getFileId(i)];
+			writeVarInt(output, storedFile - previousFile);
+			previousFile = storedFile;
+
+			LineList lines = data.getLines(i);
+			writeVarInt(output, lines.size());
+			int previousLine = 0;
+			for (int j = 0; j < lines.size(); j++) {
+				writeVarInt(output, lines.get(j) - previousLine);
+				previousLine = lines.get(j);
+			}
+		}
+	}
+
+	/**
+	 * Reads a repository in the binary format. Only the words are read, so
+	 * the tables that follow them in later versions are left unread.
+	 *
+	 * @param input the stream positioned at the magic number
+	 * @param files the registry to register the repository's files in
+	 * @param words the tree to add the repository's words to
+	 * @throws IOException if the stream cannot be read or is not a repository
+	 */
+	private void readBinary(DataInput input, FileRegistry files, BSTree<WordData> words) throws IOException {
+		if (input.readInt() != MAGIC) {
+			throw new IOException("Not a WordTracker repository: " + path);
+		}
+		int version = input.readInt();
+		if (version < 1 || version > VERSION) {
+			throw new IOException("Unsupported repository version " + version + ": " + path);
+		}
+		readBody(input, files, words);
+	}
+
+	/**
+	 * Replays every complete record of the journal, in the order they were
+	 * appended, stopping at a record that was cut short. Only a writer repairs
+	 * the journal, truncating that record away so that the next record appended
+	 * follows straight on from the last complete one; a reader leaves the file
+	 * as it is, since the writer may still be appending to it.
+	 *
+	 * @param files the registry to register the journal's files in
+	 * @param words the tree to add the journal's occurrences to
+	 * @param repair whether to truncate a record that was cut short
+	 * @return the registry ids of the files whose occurrences the journal purges
+	 * @throws IOException if the journal cannot be read or is corrupt
+	 */
+	BitSet readJournal(FileRegistry files, BSTree<WordData> words, boolean repair) throws IOException {
+		BitSet purged = new BitSet();
+		if (!Files.exists(journal)) {
+			return purged;
+		}
+
+		long complete = 0;
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(journal), BUFFER_SIZE))) {
+			while (true) {
+				int magic;
+				byte[] record;
+				try {
+					magic = input.readInt();
+					if (magic != SEGMENT_MAGIC && magic != UPDATE_MAGIC) {
+						throw new IOException("Corrupt repository journal: " + journal);
+					}
+					record = new byte[input.readInt()];
+					input.readFully(record);
+				}
+				catch (EOFException e) {
+					break;
+				}
+
+				DataInputStream body = new DataInputStream(new ByteArrayInputStream(record));
+				if (magic == UPDATE_MAGIC) {
+					int purgeCount = readVarInt(body);
+					for (int p = 0; p < purgeCount; p++) {
+						int fileId = files.getId(body.readUTF());
+						int wordCount = readVarInt(body);
+						for (int i = 0; i < wordCount; i++) {
+							String word = body.readUTF();
+							if (fileId >= 0) {
+								purge(words, word, fileId);
+							}
+						}
+						if (fileId >= 0) {
+							purged.set(fileId);
+						}
+					}
+				}
+				readBody(body, files, words);
+				complete += 8 + record.length;
+			}
+		}
+		bytesRead += complete;
+
+		if (repair && complete < Files.size(journal)) {
+			try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+				channel.truncate(complete);
+			}
+		}
+		return purged;
+	}
+
+	/**
+	 * Removes the occurrences of a file from one of the words read so far,
+	 * dropping the word if it has none left.
+	 *
+	 * @param words the tree to remove the occurrences from
+	 * @param word the word to remove the occurrences from
+	 * @param fileId the registry id of the file
+	 */
+	private static void purge(BSTree<WordData> words, String word, int fileId) {
+		BSTreeNode<WordData> node = words.search(new WordData(word));
+		if (node == null) {
+			return;
+		}
+		WordData existing = node.getElement();
+		WordData kept = existing.withoutFile(fileId);
+		if (kept != existing) {
+			words.remove(existing);
+			if (kept.getFileCount() > 0) {
+				words.add(kept);
+			}
+		}
+	}
+
+	/**
+	 * Reads a file table followed by the words, merging each word into the tree.
+	 * The words of a body are sorted and distinct, so when the tree is still
+	 * empty it is built from them in one go instead.
+	 *
+	 * @param input the stream positioned at the file table
+	 * @param files the registry to register the listed files in
+	 * @param words the tree to add the words to
+	 * @throws IOException if the stream cannot be read
+	 */
+	private void readBody(DataInput input, FileRegistry files, BSTree<WordData> words) throws IOException {
+		int[] fileIds = new int[readVarInt(input)];
+		for (int i = 0; i < fileIds.length; i++) {
+			fileIds[i] = files.register(input.readUTF());
+		}
+
+		int wordCount = readVarInt(input);
+		if (words.isEmpty()) {
+			WordData[] sorted = new WordData[wordCount];
+			for (int i = 0; i < wordCount; i++) {
+				sorted[i] = readWord(input, fileIds);
+			}
+			words.rebuild(sorted);
+			return;
+		}
+
+		for (int i = 0; i < wordCount; i++) {
+			WordData data = readWord(input, fileIds);
+			WordData existing = words.computeIfAbsent(data, key -> key).getElement();
+			if (existing != data) {
+				existing.merge(data);
+			}
+		}
+	}
+
+	/**
+	 * Reads one word and its occurrences.
+	 *
+	 * @param input the stream to read from
+	 * @param fileIds translates the file ids stored in the stream to registry ids
+	 * @return the word read
+	 * @throws IOException if the stream cannot be read
+	 */
+	static WordData readWord(DataInput input, int[] fileIds) throws IOException {
+		WordData data = new WordData(input.readUTF());
+		int fileCount = readVarInt(input);
+
+		int storedFile = 0;
+		for (int i = 0; i < fileCount; i++) {
+			storedFile += readVarInt(input);
+			int fileId = fileIds[storedFile];
+
+			int lineCount = readVarInt(input);
+			int line = 0;
+			for (int j = 0; j < lineCount; j++) {
+				line += readVarInt(input);
+				data.addOccurrence(fileId, line);
+			}
+		}
+		return data;
+	}
+
+	/**
+	 * Reads a repository written with Java serialization, which holds the BSTree
+	 * of words on its own, each word keeping a map of file paths to line
+	 * numbers, and copies it into the given registry and tree.
+	 *
+	 * @param stream the stream positioned at the serialization header
+	 * @param files the registry to register the repository's files in
+	 * @param words the empty tree to copy the repository's words into
+	 * @throws IOException if the stream cannot be read or is not a repository
+	 */
+	@SuppressWarnings("unchecked")
+	private void readSerialized(InputStream stream, FileRegistry files, BSTree<WordData> words) throws IOException {
+		BSTree<WordData> storedWords;
+		try {
+			ObjectInputStream input = new ObjectInputStream(stream);
+			storedWords = (BSTree<WordData>) input.readObject();
+		}
+		catch (ClassNotFoundException | ClassCastException e) {
+			throw new IOException("Not a WordTracker repository: " + path, e);
+		}
+
+		// the words were read on their own, so they can be moved over as they are
+		WordData[] sorted = new WordData[storedWords.size()];
+		Iterator<WordData> iterator = storedWords.inorderIterator();
+		for (int w = 0; w < sorted.length; w++) {
+			WordData data = iterator.next();
+			data.registerLegacyFiles(files);
+			sorted[w] = data;
+		}
+		words.rebuild(sorted);
+	}
+
+	/**
+	 * Writes a non-negative int using 7 bits per byte, with the high bit set on
+	 * every byte but the last, so small values take a single byte.
+	 *
+	 * @param output the stream to write to
+	 * @param value the value to write
+	 * @throws IOException if the stream cannot be written
+	 */
+	static void writeVarInt(DataOutput output, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			output.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte(value);
+	}
+
+	/**
+	 * Reads an int written by writeVarInt.
+	 *
+	 * @param input the stream to read from
+	 * @return the value read
+	 * @throws IOException if the stream cannot be read or the value is malformed
+	 */
+	static int readVarInt(DataInput input) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = input.readByte();
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+}
@@ -0,0 +1,255 @@
+package appDomain;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Splits text into the words tracked by WordTracker without using regular
+ * expressions.
+ *
+ * Characters are pushed into the tokenizer one at a time (or a buffer at a
+ * time) and each completed word is handed to a TokenHandler along with the
+ * line it was found on. A word is a run of ASCII letters, digits and
+ * apostrophes; leading and trailing apostrophes are trimmed and letters are
+ * lowercased. Lines end at "\n", "\r" or "\r\n", the same as
+ * BufferedReader.readLine. The characters of the current word are collected in
+ * a reused buffer, so the only allocation per word is the String passed to the
+ * handler.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class WordTokenizer {
+
+	/**
+	 * Receives the words produced by a WordTokenizer.
+	 */
+	public interface TokenHandler {
+
+		/**
+		 * Called for every word found, in the order they appear in the text.
+		 *
+		 * @param word the lowercased word with surrounding apostrophes removed
+		 * @param lineNumber the line the word was found on, starting at 1
+		 */
+		void token(String word, int lineNumber);
+	}
+
+	/**
+	 * Maps each ASCII character that can be part of a word to the character stored
+	 * for it, lowercasing letters, and every other character to 0.
+	 */
+	private static final char[] WORD_CHARS = new char[128];
+
+	static {
+		for (char c = 'a'; c <= 'z'; c++) {
+			WORD_CHARS[c] = c;
+			WORD_CHARS[c - 'a' + 'A'] = c;
+		}
+		for (char c = '0'; c <= '9'; c++) {
+			WORD_CHARS[c] = c;
+		}
+		WORD_CHARS['\''] = '\'';
+	}
+
+	private final TokenHandler handler;
+	private char[] word;
+	private int length;
+	private int lineNumber;
+	private boolean afterCarriageReturn;
+	private boolean lineStarted;
+	private long tokenCount;
+
+	/**
+	 * Constructor for WordTokenizer
+	 *
+	 * @param handler receives every word found by this tokenizer
+	 */
+	public WordTokenizer(TokenHandler handler) {
+		this.handler = handler;
+		this.word = new char[32];
+		this.length = 0;
+		this.lineNumber = 1;
+		this.afterCarriageReturn = false;
+		this.lineStarted = false;
+		this.tokenCount = 0;
+	}
+
+	/**
+	 * Feeds a block of characters to the tokenizer.
+	 *
+	 * @param chars the buffer holding the characters
+	 * @param offset the index of the first character to read
+	 * @param count the number of characters to read
+	 */
+	public void accept(char[] chars, int offset, int count) {
+		int end = offset + count;
+		int i = offset;
+		while (i < end) {
+			char c = chars[i];
+			if (c < WORD_CHARS.length && WORD_CHARS[c] != 0) {
+				// copy the whole run of word characters in one go
+				int start = i;
+				do {
+					i++;
+				} while (i < end && (c = chars[i]) < WORD_CHARS.length && WORD_CHARS[c] != 0);
+
+				ensureCapacity(length + i - start);
+				for (int j = start; j < i; j++) {
+					word[length++] = WORD_CHARS[chars[j]];
+				}
+				afterCarriageReturn = false;
+				lineStarted = true;
+			}
+			else {
+				accept(c);
+				i++;
+			}
+		}
+	}
+
+	/**
+	 * Feeds the remaining bytes of a buffer holding text in an ASCII-compatible
+	 * encoding, such as UTF-8 or ISO-8859-1, straight to the tokenizer without
+	 * decoding them. Every byte outside the ASCII range acts as a separator, which
+	 * is exactly how the decoded characters would have been treated, since only
+	 * ASCII letters, digits and apostrophes can be part of a word.
+	 *
+	 * @param bytes the buffer to read from, from its position up to its limit
+	 */
+	public void acceptAscii(ByteBuffer bytes) {
+		int end = bytes.limit();
+		int i = bytes.position();
+		while (i < end) {
+			int b = bytes.get(i) & 0xFF;
+			if (b < WORD_CHARS.length && WORD_CHARS[b] != 0) {
+				// copy the whole run of word characters in one go
+				int start = i;
+				do {
+					i++;
+				} while (i < end && (b = bytes.get(i) & 0xFF) < WORD_CHARS.length && WORD_CHARS[b] != 0);
+
+				ensureCapacity(length + i - start);
+				for (int j = start; j < i; j++) {
+					word[length++] = WORD_CHARS[bytes.get(j)];
+				}
+				afterCarriageReturn = false;
+				lineStarted = true;
+			}
+			else {
+				accept((char) b);
+				i++;
+			}
+		}
+		bytes.position(end);
+	}
+
+	/**
+	 * Feeds a single character to the tokenizer.
+	 *
+	 * @param c the next character of the text
+	 */
+	public void accept(char c) {
+		if (c < WORD_CHARS.length && WORD_CHARS[c] != 0) {
+			ensureCapacity(length + 1);
+			word[length++] = WORD_CHARS[c];
+		}
+		else if (c == '\n') {
+			// the second half of "\r\n" has already ended the line
+			if (!afterCarriageReturn) {
+				endLine();
+			}
+			afterCarriageReturn = false;
+			return;
+		}
+		else if (c == '\r') {
+			endLine();
+			afterCarriageReturn = true;
+			return;
+		}
+		else {
+			flush();
+		}
+		afterCarriageReturn = false;
+		lineStarted = true;
+	}
+
+	/**
+	 * Emits the word at the end of the text, if any. Must be called once all the
+	 * characters have been fed in.
+	 */
+	public void finish() {
+		flush();
+	}
+
+	/**
+	 * Returns the number of the line the next character belongs to.
+	 *
+	 * @return the current line number, starting at 1
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Returns the number of lines fed in so far, counting a last line that has
+	 * not been ended yet only if it is not empty.
+	 *
+	 * @return the number of lines
+	 */
+	public int getLineCount() {
+		return lineStarted ? lineNumber : lineNumber - 1;
+	}
+
+	/**
+	 * Returns the number of words handed to the handler so far.
+	 *
+	 * @return the number of words emitted
+	 */
+	public long getTokenCount() {
+		return tokenCount;
+	}
+
+	/**
+	 * Grows the word buffer if it cannot hold the given number of characters.
+	 *
+	 * @param capacity the number of characters the buffer must be able to hold
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity > word.length) {
+			char[] larger = new char[Math.max(capacity, word.length * 2)];
+			System.arraycopy(word, 0, larger, 0, length);
+			word = larger;
+		}
+	}
+
+	/**
+	 * Ends the current line, emitting the word in progress first.
+	 */
+	private void endLine() {
+		flush();
+		lineNumber++;
+		lineStarted = false;
+	}
+
+	/**
+	 * Trims the apostrophes from both ends of the collected word and, if anything
+	 * is left, passes it to the handler.
+	 */
+	private void flush() {
+		int start = 0;
+		int end = length;
+		length = 0;
+
+		while (start < end && word[start] == '\'') {
+			start++;
+		}
+		while (end > start && word[end - 1] == '\'') {
+			end--;
+		}
+
+		if (start < end) {
+			tokenCount++;
+			handler.token(new String(word, start, end - start), lineNumber);
+		}
+	}
+}
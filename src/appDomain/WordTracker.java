@@ -1,19 +1,45 @@
 package appDomain;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import implementations.BSTree;
 import implementations.BSTreeNode;
+import implementations.BalancedBSTree;
+import implementations.ConcurrentBSTree;
+import implementations.FileRegistry;
 import implementations.WordData;
 import utilities.Iterator;
 
 /**
  * WordTracker class for tracking words across text files.
  * 
- * The class uses a Binary Search Tree of words and provides functions for
- * parsing text files and extracting words with their line numbers, storing and
- * retrieve word data with Java serialization, and generating output in various
- * formats.
+ * The class keeps the words in a thread-safe Binary Search Tree, which other
+ * threads can read while it is being filled, and provides functions for
+ * parsing text files (in parallel when there are several) and extracting
+ * words with their line numbers, storing and
+ * retrieve word data in a compact binary repository file, and generating output
+ * in various formats.
+ * 
+ * A file that is indexed again after it changed has its old occurrences
+ * purged first, so lines that no longer hold a word do not linger in the
+ * repository. To find the words to purge without walking the whole tree, the
+ * words each file appears in are kept in a reverse index. The repository keeps
+ * a list of each file's words, so a file's entry is read from there the first
+ * time it is needed, and kept up to date from then on. Only the words of a file
+ * the repository does not list, such as one first indexed by this run, are
+ * found by walking the tree.
+ * 
+ * Words are never changed once they are in the tree, which other threads may
+ * be reading: a word that gains or loses occurrences is replaced by a changed
+ * copy. The methods that change the tree, or the state kept between parsing
+ * and saving, hold the WordTracker's lock, so only one of them runs at a time;
+ * the methods that only read the tree take no lock and can run alongside them.
  * 
  * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
  * @version 1.3 Dec. 13, 2025
@@ -22,113 +48,734 @@ import utilities.Iterator;
 public class WordTracker {
 
 	private static final String REPO_FILE = "res/repository.ser";
-	private String inputFileName;
-	private BSTree<WordData> BST;
+	private static final int PARALLEL_REPORT_WORDS = 10000;
+	private List<String> inputFileNames;
+	private Charset charset;
+	private int threads;
+	private volatile FileRegistry files;
+	private String repositoryFile = REPO_FILE;
+	private volatile ConcurrentBSTree<WordData> BST;
+	// the fields below are only used while holding the WordTracker's lock
+	private BSTree<WordData> added;
+	private List<List<String>> fileWords;
+	private int storedFiles;
+	private Map<String, Set<String>> purgedFiles = new LinkedHashMap<>();
+	private Set<String> removedWords;
+	private boolean incomplete;
+	private boolean repositoryLoaded;
+	private boolean unreadable;
+	private final WordTrackerStats stats = new WordTrackerStats();
 
 	/**
-	 * Constructor for WordTracker class.
+	 * Constructor for WordTracker class. The input file is read using the
+	 * platform's default charset.
 	 * 
 	 * @param inputFileName The name of the text file to be processed.
 	 */
 	public WordTracker(String inputFileName) {
-		this.inputFileName = inputFileName;
-		BST = new BSTree<WordData>();
+		this(inputFileName, Charset.defaultCharset());
+	}
+
+	/**
+	 * Constructor for WordTracker class.
+	 * 
+	 * @param inputFileName The name of the text file to be processed.
+	 * @param charset The encoding of the text file.
+	 */
+	public WordTracker(String inputFileName, Charset charset) {
+		this(Collections.singletonList(inputFileName), charset, 1);
+	}
+
+	/**
+	 * Constructor for WordTracker class that indexes several files, spreading them
+	 * across a pool of worker threads.
+	 * 
+	 * @param inputFileNames The names of the text files to be processed.
+	 * @param charset The encoding of the text files.
+	 * @param threads The number of worker threads to parse and format reports with.
+	 */
+	public WordTracker(List<String> inputFileNames, Charset charset, int threads) {
+		this.inputFileNames = inputFileNames;
+		this.charset = charset;
+		this.threads = Math.max(1, threads);
+		files = new FileRegistry();
+		BST = new ConcurrentBSTree<WordData>();
+		added = BST;
+	}
+
+	/**
+	 * Looks a word up in the tree. The tree is a ConcurrentBSTree, so this can be
+	 * called from any thread, including while parse is adding words on another
+	 * one. The word returned never changes: once parse finds more occurrences of
+	 * it, the tree holds a new WordData instead.
+	 * 
+	 * @param word the word to look up
+	 * @return the word with its occurrences so far, or null if it has not been found
+	 */
+	public WordData getWordData(String word) {
+		// words are stored lowercased, the same way the tokenizer emits them
+		BSTreeNode<WordData> node = BST.search(new WordData(word.toLowerCase(Locale.ROOT)));
+		return node == null ? null : node.getElement();
 	}
 
 	/**
-	 * Parses the input text file and extracts all words with their line numbers It
-	 * splits the line into words, removes any punctuation, and then adds the words
-	 * to the BST. (or updates if there is an existing entry.)
+	 * Finds the words in the tree that match a query, in sorted order. A query
+	 * ending in "*" matches every word starting with the rest of the query, one
+	 * of the form "from..to" matches the words from one word through another, and
+	 * any other query matches just that word. Only the matching words and the
+	 * path down to the first of them are visited, and like getWordData this can
+	 * be called from any thread.
+	 * 
+	 * @param query the word, prefix or range to look up
+	 * @return an iterator over the matching words
 	 */
-	public void parse() {
-		try (BufferedReader reader = new BufferedReader(new FileReader(inputFileName))) {
-			String line;
-			int lineNumber = 1;
+	public Iterator<WordData> queryWords(String query) {
+		String[] bounds = queryBounds(query);
+		return BST.range(new WordData(bounds[0]), bounds[1] == null ? null : new WordData(bounds[1]));
+	}
 
-			while ((line = reader.readLine()) != null) {
+	/**
+	 * Counts the words in the tree that match a query, without visiting them.
+	 * 
+	 * @param query the word, prefix or range to count, as for queryWords
+	 * @return the number of matching words
+	 */
+	public int countWords(String query) {
+		String[] bounds = queryBounds(query);
+		return BST.countInRange(new WordData(bounds[0]), bounds[1] == null ? null : new WordData(bounds[1]));
+	}
 
-				// regex for splitting on any character that is not a number, letter, or
-				// apostrophe.
-				String[] words = line.split("[^a-zA-Z0-9']+");
+	/**
+	 * Returns one page of the words in the tree, in sorted order, such as a
+	 * screen of a list of every word. Skipping to a page costs the same however
+	 * many words come before it.
+	 * 
+	 * @param offset the position of the first word of the page, from 0
+	 * @param count the largest number of words to return
+	 * @return an iterator over the words of the page
+	 */
+	public Iterator<WordData> pageWords(int offset, int count) {
+		return BST.page(offset, count);
+	}
 
-				for (String word : words) {
+	/**
+	 * Getter for the registry of the files the words' file ids refer to. Like the
+	 * tree, it can be read from any thread.
+	 * 
+	 * @return the registry of the tracked files
+	 */
+	public FileRegistry getFiles() {
+		return files;
+	}
 
-					// skip when word is empty
-					if (word.isEmpty()) {
-						continue;
+	/**
+	 * Sets the path of the repository file to load from and save to, which is
+	 * res/repository.ser unless set. The journal is kept next to it.
+	 * 
+	 * @param fileName the path of the repository file
+	 */
+	public synchronized void setRepositoryFile(String fileName) {
+		repositoryFile = fileName;
+	}
+
+	/**
+	 * Getter for the timers and counters of this run.
+	 * 
+	 * @return the statistics of this WordTracker
+	 */
+	public WordTrackerStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Parses the input text files and extracts all words with their line numbers.
+	 * 
+	 * With a single worker thread the files are parsed one after another into one
+	 * index. Otherwise each worker takes files from a shared queue and builds its
+	 * own partial index. The indexes are merged into the BST once every file has
+	 * been parsed, keeping track of the occurrences that were not in the
+	 * repository yet so that saveRepository only has to append those. When the
+	 * repository is empty everything is new, and nothing needs to be tracked.
+	 * Before a file that was already in the repository is merged, it is purged
+	 * if it has changed, so its occurrences are all added again.
+	 * 
+	 * If a file cannot be parsed, parsing stops there. The tree is then missing
+	 * words, so saveRepository and compactRepository refuse to save it.
+	 * 
+	 * @return true if every file was parsed, false if one could not be
+	 */
+	public synchronized boolean parse() {
+		long start = System.nanoTime();
+		// lookups are only counted for -stats, since counting slows every lookup down
+		BST.setCounting(stats.isEnabled());
+		int sizeBefore = BST.size();
+		long lookupsBefore = BST.getLookupCount();
+		long comparisonsBefore = BST.getComparisonCount();
+		removedWords = new HashSet<>();
+
+		int parsedWords = parseFiles();
+
+		stats.addLookups(BST.getLookupCount() - lookupsBefore, BST.getComparisonCount() - comparisonsBefore);
+		// words purged away may have been parsed again, and are then not new
+		int kept = sizeBefore - removedWords.size();
+		for (String word : removedWords) {
+			if (BST.contains(new WordData(word))) {
+				kept++;
+			}
+		}
+		removedWords = null;
+		int newWords = BST.size() - kept;
+		stats.addWords(newWords, parsedWords < 0 ? -1 : parsedWords - newWords);
+		stats.setTree(BST.size(), BST.getHeight());
+		stats.addParse(System.nanoTime() - start);
+		return !incomplete;
+	}
+
+	/**
+	 * Does the work of parse.
+	 * 
+	 * @return the number of distinct words in the input files, or -1 if they were
+	 *         not counted
+	 */
+	private int parseFiles() {
+		int[] fileIds = new int[inputFileNames.size()];
+		boolean[] indexed = new boolean[fileIds.length];
+		// the words of files from the repository are read before they change, so
+		// the reverse index can follow along
+		List<Integer> storedIds = new ArrayList<>();
+		for (int i = 0; i < fileIds.length; i++) {
+			indexed[i] = !BST.isEmpty() && files.getId(inputFileNames.get(i)) >= 0;
+			fileIds[i] = files.register(inputFileNames.get(i));
+			if (fileIds[i] < storedFiles) {
+				storedIds.add(fileIds[i]);
+			}
+		}
+		if (!storedIds.isEmpty()) {
+			readWordsOf(storedIds);
+		}
+		added = BST.isEmpty() ? BST : new BalancedBSTree<WordData>();
+		int workers = Math.min(threads, fileIds.length);
+
+		if (workers <= 1) {
+			BSTree<WordData> index = new BalancedBSTree<WordData>();
+			index.setCounting(stats.isEnabled());
+			try {
+				for (int i = 0; i < fileIds.length; i++) {
+					parseFile(inputFileNames.get(i), fileIds[i], index);
+				}
+			} catch (UncheckedIOException e) {
+				e.printStackTrace();
+				incomplete = true;
+				return -1;
+			}
+			stats.addLookups(index.getLookupCount(), index.getComparisonCount());
+			for (int i = 0; i < fileIds.length; i++) {
+				if (indexed[i]) {
+					purgeIfChanged(fileIds[i], index);
+				}
+			}
+			mergeIndex(index);
+			return index.size();
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		AtomicInteger nextFile = new AtomicInteger();
+		List<Future<BSTree<WordData>>> partials = new ArrayList<>();
+		// each worker lists the files it parsed, which only it writes to until
+		// its partial index is handed over
+		List<List<Integer>> parsedFiles = new ArrayList<>();
+
+		for (int i = 0; i < workers; i++) {
+			List<Integer> parsed = new ArrayList<>();
+			parsedFiles.add(parsed);
+			partials.add(pool.submit(() -> {
+				BSTree<WordData> partial = new BalancedBSTree<WordData>();
+				partial.setCounting(stats.isEnabled());
+				int index;
+				while ((index = nextFile.getAndIncrement()) < inputFileNames.size()) {
+					parseFile(inputFileNames.get(index), fileIds[index], partial);
+					parsed.add(index);
+				}
+				return partial;
+			}));
+		}
+		pool.shutdown();
+
+		// words already in the repository may turn up in several partial indexes,
+		// so counting them takes a set of every word, which is only kept on request
+		Set<String> parsedWords = added != BST && stats.isEnabled() ? new HashSet<String>() : null;
+		try {
+			for (int i = 0; i < workers; i++) {
+				BSTree<WordData> partial = partials.get(i).get();
+				stats.addLookups(partial.getLookupCount(), partial.getComparisonCount());
+				for (int index : parsedFiles.get(i)) {
+					if (indexed[index]) {
+						purgeIfChanged(fileIds[index], partial);
+					}
+				}
+				if (parsedWords != null) {
+					Iterator<WordData> iterator = partial.inorderIterator();
+					while (iterator.hasNext()) {
+						parsedWords.add(iterator.next().getWord());
 					}
+				}
+				mergeIndex(partial);
+			}
+		} catch (InterruptedException e) {
+			pool.shutdownNow();
+			incomplete = true;
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// the partial indexes after the failed one are left unmerged
+			e.printStackTrace();
+			pool.shutdownNow();
+			incomplete = true;
+		}
+
+		if (added == BST) {
+			return BST.size();
+		}
+		return parsedWords == null ? -1 : parsedWords.size();
+	}
+
+	/**
+	 * Parses a single text file into the given index. The file is memory-mapped and
+	 * fed through a WordTokenizer, which splits it into words, removes any
+	 * punctuation, and hands each word to the index. (or updates if there is an
+	 * existing entry.)
+	 * 
+	 * @param fileName The name of the text file to parse.
+	 * @param fileId The registry id of the file.
+	 * @param index The tree to add the file's words to.
+	 * @throws UncheckedIOException if the file cannot be read
+	 */
+	private void parseFile(String fileName, int fileId, BSTree<WordData> index) {
+		WordTokenizer tokenizer = new WordTokenizer((word, lineNumber) -> {
+			// finds the word's entry, adding a new one if this is its first occurrence
+			BSTreeNode<WordData> node = index.computeIfAbsent(new WordData(word), key -> key);
+			node.getElement().addOccurrence(fileId, lineNumber);
+		});
+
+		try {
+			new MappedFileScanner(charset).scan(fileName, tokenizer);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not read " + fileName, e);
+		}
+		stats.addFile(tokenizer.getLineCount(), tokenizer.getTokenCount());
+	}
+
+	/**
+	 * Adds every word of a partial index to the BST, merging the occurrences of
+	 * words that are already present. Unless everything in the BST is new, the
+	 * occurrences the BST did not have yet are also added to the added tree.
+	 * 
+	 * A partial index that holds a large share of the words is merged side by
+	 * side with the BST in O(n + m), and the result is rebuilt balanced. When the
+	 * BST is not new, the partial index is first compared with it in the same way
+	 * to keep only the new occurrences, which are then merged into both the BST
+	 * and the added tree. A partial index that is small next to the BST is
+	 * instead merged one word at a time, in O(m log n), so that a run over a few
+	 * files never walks or rebuilds the whole tree.
+	 * 
+	 * Words in the BST may be being read by other threads, or be part of a
+	 * snapshot being printed or saved, so they are never changed in place: a
+	 * word that gains occurrences is replaced by a changed copy, which shares
+	 * the line lists of the files it did not gain any in.
+	 * 
+	 * @param partial The index built by one worker.
+	 */
+	private void mergeIndex(BSTree<WordData> partial) {
+		int size = BST.size();
+		// a lookup costs about log2(n) comparisons, against one step of the zip per word
+		int depth = 32 - Integer.numberOfLeadingZeros(size);
+		if ((long) partial.size() * depth < size) {
+			mergeWords(partial);
+			return;
+		}
+
+		if (added == BST) {
+			BST.merge(partial, WordTracker::mergedCopy);
+			if (fileWords != null) {
+				Iterator<WordData> iterator = partial.inorderIterator();
+				while (iterator.hasNext()) {
+					indexFiles(iterator.next());
+				}
+			}
+			return;
+		}
+
+		List<WordData> newOccurrences = new ArrayList<>();
+		Iterator<WordData> stored = BST.snapshot().inorderIterator();
+		WordData existing = stored.hasNext() ? stored.next() : null;
+		Iterator<WordData> iterator = partial.inorderIterator();
+		while (iterator.hasNext()) {
+			WordData data = iterator.next();
+			while (existing != null && existing.compareTo(data) < 0) {
+				existing = stored.hasNext() ? stored.next() : null;
+			}
+
+			WordData occurrences = existing != null && existing.compareTo(data) == 0
+					? existing.newOccurrences(data) : data;
+			if (occurrences != null) {
+				newOccurrences.add(occurrences);
+			}
+		}
+		if (newOccurrences.isEmpty()) {
+			return;
+		}
+
+		// the words are shared by both trees, which is safe since neither tree
+		// changes its words in place
+		BSTree<WordData> delta = new BalancedBSTree<WordData>();
+		delta.rebuild(newOccurrences.toArray(new WordData[newOccurrences.size()]));
+		BST.merge(delta, WordTracker::mergedCopy);
+		added.merge(delta, WordTracker::mergedCopy);
+		if (fileWords != null) {
+			for (WordData data : newOccurrences) {
+				indexFiles(data);
+			}
+		}
+	}
+
+	/**
+	 * Does the work of mergeIndex for a partial index that is small next to the
+	 * BST, looking each of its words up in the BST and the added tree.
+	 * 
+	 * @param partial The index built by one worker.
+	 */
+	private void mergeWords(BSTree<WordData> partial) {
+		Iterator<WordData> iterator = partial.inorderIterator();
+		while (iterator.hasNext()) {
+			WordData data = iterator.next();
+			BSTreeNode<WordData> node = BST.search(data);
+			WordData existing = node == null ? null : node.getElement();
+			WordData occurrences = existing == null || added == BST ? data : existing.newOccurrences(data);
+			if (occurrences == null) {
+				continue;
+			}
+
+			// only one thread merges at a time, so the replace cannot fail
+			BST.replace(existing, existing == null ? occurrences : mergedCopy(existing, occurrences));
+			if (added != BST) {
+				BSTreeNode<WordData> pending = added.search(occurrences);
+				if (pending == null) {
+					added.add(occurrences);
+				}
+				else {
+					WordData merged = mergedCopy(pending.getElement(), occurrences);
+					added.remove(pending.getElement());
+					added.add(merged);
+				}
+			}
+			if (fileWords != null) {
+				indexFiles(occurrences);
+			}
+		}
+	}
+
+	/**
+	 * Merges the occurrences of two WordData for the same word into a copy of
+	 * the first, leaving both unchanged.
+	 * 
+	 * @param data The word to copy.
+	 * @param more The word whose occurrences to add to the copy.
+	 * @return The merged copy.
+	 */
+	private static WordData mergedCopy(WordData data, WordData more) {
+		WordData merged = data.copy();
+		merged.merge(more);
+		return merged;
+	}
 
-					// regex for replacing
-					word = word.replaceAll("^'+|'+$", "").toLowerCase();
+	/**
+	 * Removes every occurrence of a file from the tree, dropping the words that
+	 * were only found in that file. Only the words the file appears in are
+	 * visited. The purge is recorded in the repository by the next saveRepository.
+	 * 
+	 * @param fileName the path of the file, as it was given to parse
+	 * @return true if the file had occurrences to remove
+	 */
+	public synchronized boolean purgeFile(String fileName) {
+		int fileId = files.getId(fileName);
+		return fileId >= 0 && purge(fileId);
+	}
 
-					if (word.isEmpty()) {
-						continue;
+	/**
+	 * Purges a file that has just been parsed again if any of the occurrences
+	 * stored for it were not found this time, so that the occurrences just
+	 * parsed replace them once the index is merged. A file that has only had
+	 * lines added keeps its occurrences, and only the new ones are merged in.
+	 * 
+	 * @param fileId The registry id of the file.
+	 * @param index The index the file was just parsed into.
+	 */
+	private void purgeIfChanged(int fileId, BSTree<WordData> index) {
+		for (String word : wordsOf(fileId)) {
+			WordData key = new WordData(word);
+			BSTreeNode<WordData> stored = BST.search(key);
+			BSTreeNode<WordData> parsed = index.search(key);
+			// a word no longer in the file is compared as a word with no occurrences
+			WordData found = parsed == null ? key : parsed.getElement();
+			if (stored != null && !found.hasOccurrences(stored.getElement(), fileId)) {
+				purge(fileId);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Does the work of purgeFile. Words in the BST are replaced by copies without
+	 * the file rather than changed in place, for the same reasons as in
+	 * mergeIndex.
+	 * 
+	 * @param fileId The registry id of the file.
+	 * @return true if the file had occurrences to remove
+	 */
+	private boolean purge(int fileId) {
+		Set<String> removed = new LinkedHashSet<>();
+		List<String> words = wordsOf(fileId);
+		for (String word : words) {
+			WordData key = new WordData(word);
+			// the same word may be listed more than once, or have been purged already
+			BSTreeNode<WordData> node = BST.search(key);
+			if (node != null) {
+				WordData existing = node.getElement();
+				WordData kept = existing.withoutFile(fileId);
+				if (kept.getFileCount() == 0) {
+					BST.remove(existing);
+					if (removedWords != null) {
+						removedWords.add(word);
 					}
+				}
+				else if (kept != existing) {
+					BST.replace(existing, kept);
+				}
+				if (kept != existing) {
+					removed.add(word);
+				}
+			}
 
-					WordData searchKey = new WordData(word);
+			BSTreeNode<WordData> pending = added == BST ? null : added.search(key);
+			if (pending != null) {
+				WordData kept = pending.getElement().withoutFile(fileId);
+				added.remove(pending.getElement());
+				if (kept.getFileCount() > 0) {
+					added.add(kept);
+				}
+			}
+		}
+		words.clear();
 
-					BSTreeNode<WordData> node = BST.search(searchKey);
+		if (removed.isEmpty()) {
+			return false;
+		}
+		// the purge record lists the words, so replaying it only visits those
+		purgedFiles.computeIfAbsent(files.getName(fileId), name -> new LinkedHashSet<>()).addAll(removed);
+		return true;
+	}
 
-					if (node != null) {
-						// word exists
-						node.getElement().addOccurrence(inputFileName, lineNumber);
-					} else {
-						// new word so create a WordData and add to BST
-						WordData newData = new WordData(word);
-						newData.addOccurrence(inputFileName, lineNumber);
-						BST.add(newData);
+	/**
+	 * Finds the words a file appears in, from the reverse index of the files'
+	 * words, reading the file's entry the first time it is needed.
+	 * 
+	 * @param fileId The registry id of the file.
+	 * @return the words listed for the file, which may hold a word more than once
+	 *         or a word that no longer appears in it
+	 */
+	private List<String> wordsOf(int fileId) {
+		if (fileWords == null || fileWords.size() <= fileId || fileWords.get(fileId) == null) {
+			readWordsOf(Collections.singletonList(fileId));
+		}
+		return fileWords.get(fileId);
+	}
+
+	/**
+	 * Reads the entries of the given files into the reverse index, from the list
+	 * of each file's words kept in the repository. The words of files the
+	 * repository does not list are found by walking the tree once for all of
+	 * them. Files that already have an entry are left as they are.
+	 * 
+	 * @param fileIds The registry ids of the files.
+	 */
+	private void readWordsOf(List<Integer> fileIds) {
+		if (fileWords == null) {
+			fileWords = new ArrayList<>();
+		}
+		while (fileWords.size() < files.size()) {
+			fileWords.add(null);
+		}
+
+		MappedRepository repo = null;
+		boolean mapped = true;
+		BitSet missing = new BitSet();
+		for (int fileId : fileIds) {
+			if (fileWords.get(fileId) != null) {
+				continue;
+			}
+			List<String> words = null;
+			if (fileId < storedFiles && mapped) {
+				try {
+					if (repo == null) {
+						repo = new MappedRepository(repositoryFile);
 					}
+					words = repo.wordsOf(files.getName(fileId));
+				}
+				catch (IOException | UncheckedIOException e) {
+					// a repository in an older format cannot be mapped, and is walked instead
+					mapped = false;
+				}
+			}
+			if (words == null) {
+				words = new ArrayList<>();
+				missing.set(fileId);
+			}
+			fileWords.set(fileId, words);
+		}
 
+		if (!missing.isEmpty()) {
+			Iterator<WordData> iterator = BST.inorderIterator();
+			while (iterator.hasNext()) {
+				WordData data = iterator.next();
+				for (int i = 0; i < data.getFileCount(); i++) {
+					if (missing.get(data.getFileId(i))) {
+						fileWords.get(data.getFileId(i)).add(data.getWord());
+					}
 				}
-				lineNumber++;
 			}
+		}
+	}
 
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-		} catch (IOException e) {
-			e.printStackTrace();
+	/**
+	 * Lists a word under each file it appears in, in the reverse index. Files
+	 * without an entry yet are skipped, since their entry is read in full when
+	 * it is first needed.
+	 * 
+	 * @param data The word to list.
+	 */
+	private void indexFiles(WordData data) {
+		for (int i = 0; i < data.getFileCount(); i++) {
+			int fileId = data.getFileId(i);
+			if (fileId < fileWords.size() && fileWords.get(fileId) != null) {
+				fileWords.get(fileId).add(data.getWord());
+			}
 		}
 	}
 
 	/**
 	 * Loads existing word data from the repository.ser file If the file exists, it
-	 * would load and restore previously stored word data If the file doesn't exist,
-	 * the method would return.
+	 * would load and restore the file registry and previously stored word data,
+	 * replaying any runs appended to its journal since the last compaction. If
+	 * the file doesn't exist, the method would return.
+	 * 
+	 * A repository that cannot be read is left alone: the tree stays as it was,
+	 * and saveRepository and compactRepository refuse to write over it.
+	 * 
+	 * @return true if the repository was loaded or there is none yet, false if
+	 *         it could not be read
 	 */
-	@SuppressWarnings("unchecked")
-	public void loadRepository() {
-		File repo = new File(REPO_FILE);
+	public synchronized boolean loadRepository() {
+		long start = System.nanoTime();
+		RepositoryFile repo = new RepositoryFile(repositoryFile);
 
 		if (!repo.exists()) {
-			return;
+			repositoryLoaded = true;
+			return true;
 		}
 
-		try (ObjectInputStream input = new ObjectInputStream(new FileInputStream(repo))) {
-
-			BST = (BSTree<WordData>) input.readObject();
-			input.close();
+		try {
+			FileRegistry loadedFiles = new FileRegistry();
+			ConcurrentBSTree<WordData> loaded = new ConcurrentBSTree<WordData>();
+			repo.read(loadedFiles, loaded);
+			BST = loaded;
+			files = loadedFiles;
+			added = BST;
+			fileWords = null;
+			storedFiles = files.size();
+			purgedFiles.clear();
+			repositoryLoaded = true;
 		} 
-		catch (FileNotFoundException e){
+		catch (IOException | RuntimeException e) {
+			// a damaged repository can fail anywhere while it is decoded
 			e.printStackTrace();
+			unreadable = true;
 		}
-		catch (IOException e) {
-			e.printStackTrace();
-		} 
-		catch (ClassNotFoundException e) {
+		stats.setTree(BST.size(), BST.getHeight());
+		stats.addLoad(System.nanoTime() - start, repo.getBytesRead());
+		return !unreadable;
+	}
+
+	/**
+	 * Saves the occurrences found by this run to the repository.ser file
+	 * Only the new occurrences are appended to the repository's journal, so the
+	 * cost of saving follows the size of the input rather than the size of the
+	 * repository. Files purged by this run are recorded in the same journal
+	 * record as those occurrences, so that replaying it purges them first, and
+	 * a crash cannot leave a purge without the occurrences that replace it.
+	 * The whole repository is written instead when there is nothing to append to
+	 * yet, or once the journal has outgrown the repository file.
+	 */
+	public synchronized void saveRepository() {
+		if (!canSave()) {
+			return;
+		}
+		long start = System.nanoTime();
+		RepositoryFile repo = new RepositoryFile(repositoryFile);
+		try {
+			if (repo.needsCompaction()) {
+				repo.write(files, BST.snapshot());
+			}
+			else if (!added.isEmpty() || !purgedFiles.isEmpty()) {
+				repo.append(files, added, purgedFiles);
+			}
+			purgedFiles.clear();
+		} catch (IOException e) {
 			e.printStackTrace();
 		}
+		stats.addSave(System.nanoTime() - start, repo.getBytesWritten());
 	}
 
 	/**
 	 * Saves the current word tree to the repository.ser file
-	 * This method serializes the entire BSTree, preserving all word data for future use.
+	 * This method writes the file registry and every word with its occurrences in
+	 * the compact binary format of RepositoryFile, folding the journal back into
+	 * the repository file.
 	 */
-	public void saveRepository() {
-		try (ObjectOutputStream output = new ObjectOutputStream(new FileOutputStream(REPO_FILE))) {
-			output.writeObject(BST);
+	public synchronized void compactRepository() {
+		if (!canSave()) {
+			return;
+		}
+		long start = System.nanoTime();
+		RepositoryFile repo = new RepositoryFile(repositoryFile);
+		try {
+			repo.write(files, BST.snapshot());
+			purgedFiles.clear();
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
+		stats.addSave(System.nanoTime() - start, repo.getBytesWritten());
+	}
+
+	/**
+	 * Checks that the tree holds everything it should before it is saved, so an
+	 * incomplete index never replaces the repository, and the words of a
+	 * repository that was not loaded are never written over.
+	 * 
+	 * @return true if the tree can be saved
+	 */
+	private boolean canSave() {
+		if (incomplete) {
+			System.out.println("Error: The repository was not saved, since not every file could be indexed");
+			return false;
+		}
+		if (unreadable) {
+			System.out.println("Error: The repository was not saved, since the existing one could not be read");
+			return false;
+		}
+		if (!repositoryLoaded && new RepositoryFile(repositoryFile).exists()) {
+			System.out.println("Error: The repository was not saved, since it was not loaded first");
+			return false;
+		}
+		return true;
 	}
 
 
@@ -136,82 +783,199 @@ public class WordTracker {
 	 * Prints word data based on the specified format option
 	 * Writes to the provided output file path.
 	 * 
+	 * Each entry is written out as soon as it is formatted, so the memory used
+	 * does not grow with the size of the report. With more than one worker
+	 * thread a large report is split into ranges of words, which are formatted
+	 * on the workers and written out in order.
+	 * 
+	 * If the report cannot be finished, the output file is deleted rather than
+	 * left holding part of the report.
+	 * 
      * @param outputFilePath the path of where the output file will be generated
      * @param Option determines what information will be displayed
+     * @return true if the whole report was written
 	 */
-	public void printWords(String Option, String outputFilePath) {
+	public boolean printWords(String Option, String outputFilePath) {
 		if (!Option.equals("-pf") && !Option.equals("-po") && !Option.equals("-pl")) {
 			System.out.println("Invalid option: " + Option);
-			return;
+			return false;
 		}
 		
-		Iterator<WordData> iterator = BST.inorderIterator();
-		StringBuilder lineData = new StringBuilder();
-		
-		while (iterator.hasNext()) {
-			// pf section
-			WordData data = iterator.next();
-			lineData.append("Key : ===" + data.getWord() + "=== ");
-
-			Map<String, List<Integer>> fileLines = data.getFileLines();
-			Set<String> fileNames = new TreeSet<>(fileLines.keySet());
-			int totalCount = 0;
-			
-			for (String fileName : fileNames) {
-				lineData.append(" found in file: " + fileName);
-				
-				// pl section
-				if (Option.equals("-pl") || Option.equals("-po")) {
-					List<Integer> lineNumbers = fileLines.get(fileName);
-					Collections.sort(lineNumbers);
-					
-					lineData.append(" on lines: ");
-					
-					for (int i = 0; i < lineNumbers.size(); i++) {
-						lineData.append(lineNumbers.get(i));
-						
-						totalCount++;
-						if (i < lineNumbers.size() - 1) {
-							lineData.append(", ");
-						}
+		long start = System.nanoTime();
+		// the report is of the words as they are now, however many more are parsed
+		// while it is being written
+		BSTree<WordData> words = BST.snapshot();
+		try (ReportWriter report = new ReportWriter(files, outputFilePath)) {
+			try {
+				if (threads == 1 || words.size() < PARALLEL_REPORT_WORDS) {
+					Iterator<WordData> iterator = words.inorderIterator();
+					while (iterator.hasNext()) {
+						report.write(iterator.next(), Option);
 					}
 				}
-				
-				// po section
-				if (Option.equals("-po")) {
-					lineData.append(" number of entries: " + totalCount);
+				else {
+					printWordsInParallel(words, report, Option);
 				}
+			} catch (IOException | RuntimeException e) {
+				report.abort();
+				throw e;
 			}
-			lineData.append("\n");
-		}
-		System.out.println(lineData);
-		if (outputFilePath != null) {
-			writeData(outputFilePath, lineData);
+		} catch (IOException | RuntimeException e) {
+			e.printStackTrace();
+			System.out.println("Error: The report could not be written in full");
+			return false;
 		}
+		stats.addPrint(System.nanoTime() - start);
+		return true;
 	}
-	
+
 	/**
-	 * Writes the output of the program into a file given by the user
+	 * Formats the report on the worker threads. The words are split into several
+	 * ranges per thread, and only a couple of ranges per thread are formatted
+	 * ahead of the one being written, which bounds the memory held in buffers
+	 * while keeping every thread busy.
 	 * 
-     * @param outputFile the path of where the output file will be generated
-     * @param data the data that will be stored into the output file
+	 * @param words the words to report
+	 * @param report the report to write the formatted ranges to, in order
+	 * @param Option determines what information will be displayed
+	 * @throws IOException if the report cannot be written, or a range could not
+	 *         be formatted
 	 */
-	private void writeData(String outputFile, StringBuilder data) {
-		File File = new File(outputFile);
+	private void printWordsInParallel(BSTree<WordData> words, ReportWriter report, String Option) throws IOException {
+		List<Iterator<WordData>> ranges = words.inorderPartitions(threads * 8);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		ArrayDeque<Future<StringBuilder>> pending = new ArrayDeque<>();
+		int nextRange = 0;
+
 		try {
-			if (File.createNewFile()) {
-				System.out.println("Created: " + File.getName() + " at path: " + File.getAbsolutePath());
-			} else {
-				System.out.println("Overwriting file: " + File.getName() + " at path: " + File.getAbsolutePath());
+			while (nextRange < ranges.size() || !pending.isEmpty()) {
+				while (nextRange < ranges.size() && pending.size() < threads * 2) {
+					Iterator<WordData> range = ranges.get(nextRange++);
+					ReportFormatter formatter = new ReportFormatter(files);
+					pending.add(pool.submit(() -> {
+						StringBuilder lineData = new StringBuilder();
+						while (range.hasNext()) {
+							formatter.append(lineData, range.next(), Option);
+						}
+						return lineData;
+					}));
+				}
+				report.write(pending.remove().get());
 			}
-			FileWriter myWriter = new FileWriter(outputFile);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while writing the report");
+		} catch (ExecutionException e) {
+			throw new IOException("Could not format the report", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Prints the word data of only the given words, read straight from the
+	 * memory-mapped repository instead of loading and parsing anything. A query
+	 * ending in "*" prints every word starting with the rest of the query, and one
+	 * of the form "from..to" prints the words from one word through another.
+	 * 
+	 * @param queries the words or prefixes to look up
+	 * @param Option determines what information will be displayed
+	 * @param outputFilePath the path of where the output file will be generated
+	 * @return true if the repository could be read and the whole report written
+	 */
+	public synchronized boolean lookupWords(List<String> queries, String Option, String outputFilePath) {
+		if (!Option.equals("-pf") && !Option.equals("-po") && !Option.equals("-pl")) {
+			System.out.println("Invalid option: " + Option);
+			return false;
+		}
 
-			myWriter.write(data.toString());
-			myWriter.close();
-			System.out.println("Successfully wrote to the file.");
+		MappedRepository repo;
+		try {
+			repo = new MappedRepository(repositoryFile);
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+		files = repo.getFiles();
 
-		} catch (IOException e) {
+		try (ReportWriter report = new ReportWriter(files, outputFilePath)) {
+			try {
+				writeLookups(repo, queries, report, Option);
+			} catch (IOException | RuntimeException e) {
+				report.abort();
+				throw e;
+			}
+		} catch (IOException | RuntimeException e) {
 			e.printStackTrace();
+			System.out.println("Error: The report could not be written in full");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the words matching each query to the report.
+	 * 
+	 * @param repo the repository to look the words up in
+	 * @param queries the words or prefixes to look up
+	 * @param report the report to write the words to
+	 * @param Option determines what information will be displayed
+	 * @throws IOException if the repository or the report cannot be accessed
+	 */
+	private void writeLookups(MappedRepository repo, List<String> queries, ReportWriter report, String Option) throws IOException {
+		for (String query : queries) {
+			// words are stored lowercased, the same way the tokenizer emits them
+			query = query.toLowerCase(Locale.ROOT);
+			int found = 0;
+
+			if (query.endsWith("*") || query.contains("..")) {
+				String[] bounds = queryBounds(query);
+				Iterator<WordData> iterator = repo.range(bounds[0], bounds[1]);
+				while (iterator.hasNext()) {
+					report.write(iterator.next(), Option);
+					found++;
+				}
+			}
+			else {
+				WordData data = repo.lookup(query);
+				if (data != null) {
+					report.write(data, Option);
+					found++;
+				}
+			}
+
+			if (found == 0) {
+				report.message("Word not found: " + query);
+			}
+		}
+	}
+
+	/**
+	 * Turns a query into the range of words it matches, lowercased the same way
+	 * the tokenizer emits words. Either end of a "from..to" range may be left
+	 * out to leave that end open.
+	 * 
+	 * @param query the word, prefix or range to look up
+	 * @return the smallest word matched, and the word to stop at or null to carry
+	 *         on to the last word
+	 */
+	private static String[] queryBounds(String query) {
+		query = query.toLowerCase(Locale.ROOT);
+		if (query.endsWith("*")) {
+			String prefix = query.substring(0, query.length() - 1);
+			return new String[] { prefix, MappedRepository.prefixEnd(prefix) };
+		}
+
+		String from = query;
+		String to = query;
+		int split = query.indexOf("..");
+		if (split >= 0) {
+			from = query.substring(0, split);
+			to = query.substring(split + 2);
 		}
+		// no word holds a '\0', so nothing falls between a word and the word
+		// followed by one; stopping there includes the last word itself
+		return new String[] { from, split >= 0 && to.isEmpty() ? null : to + '\0' };
 	}
 }
@@ -0,0 +1,292 @@
+package appDomain;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Timers and counters describing where a WordTracker run spends its time.
+ *
+ * Most counters are cheap enough to be kept on every run: the tokenizer counts
+ * as it goes and is read once per file, and each phase is timed with a pair of
+ * System.nanoTime calls. Counting the lookups made by the trees would slow
+ * down every lookup, and counting the existing words of a run parsed on
+ * several threads needs extra work, so those are done only once collecting has
+ * been enabled. The figures are printed by the -stats option and can be
+ * watched over JMX once registered.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class WordTrackerStats implements WordTrackerStatsMBean {
+
+	static final String OBJECT_NAME = "appDomain:type=WordTrackerStats";
+
+	private volatile boolean enabled;
+	private final AtomicLong loadNanos = new AtomicLong();
+	private final AtomicLong parseNanos = new AtomicLong();
+	private final AtomicLong printNanos = new AtomicLong();
+	private final AtomicLong saveNanos = new AtomicLong();
+	private final AtomicLong filesParsed = new AtomicLong();
+	private final AtomicLong linesParsed = new AtomicLong();
+	private final AtomicLong tokensParsed = new AtomicLong();
+	private final AtomicLong newWords = new AtomicLong();
+	private final AtomicLong existingWords = new AtomicLong();
+	private volatile int treeSize;
+	private volatile int treeHeight;
+	private final AtomicLong lookups = new AtomicLong();
+	private final AtomicLong comparisons = new AtomicLong();
+	private final AtomicLong bytesRead = new AtomicLong();
+	private final AtomicLong bytesWritten = new AtomicLong();
+
+	/**
+	 * Checks whether the counters that cost extra work are being collected.
+	 *
+	 * @return true if collecting has been enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turns on the counters that cost extra work.
+	 *
+	 * @param enabled true to collect every counter
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Registers these statistics with the platform MBean server, so they can be
+	 * watched with a JMX console such as jconsole while the run is going.
+	 */
+	public void register() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+		} catch (JMException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Removes these statistics from the platform MBean server again.
+	 */
+	public void unregister() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+		} catch (JMException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Counts a load of the repository.
+	 *
+	 * @param nanos the time the load took
+	 * @param bytes the number of bytes read
+	 */
+	void addLoad(long nanos, long bytes) {
+		loadNanos.addAndGet(nanos);
+		bytesRead.addAndGet(bytes);
+	}
+
+	/**
+	 * Counts the time spent parsing.
+	 *
+	 * @param nanos the time parsing took
+	 */
+	void addParse(long nanos) {
+		parseNanos.addAndGet(nanos);
+	}
+
+	/**
+	 * Counts the time spent printing a report.
+	 *
+	 * @param nanos the time printing took
+	 */
+	void addPrint(long nanos) {
+		printNanos.addAndGet(nanos);
+	}
+
+	/**
+	 * Counts a save of the repository.
+	 *
+	 * @param nanos the time the save took
+	 * @param bytes the number of bytes written
+	 */
+	void addSave(long nanos, long bytes) {
+		saveNanos.addAndGet(nanos);
+		bytesWritten.addAndGet(bytes);
+	}
+
+	/**
+	 * Counts one parsed file. Called from the worker threads.
+	 *
+	 * @param lines the number of lines in the file
+	 * @param tokens the number of words found in the file
+	 */
+	void addFile(long lines, long tokens) {
+		filesParsed.incrementAndGet();
+		linesParsed.addAndGet(lines);
+		tokensParsed.addAndGet(tokens);
+	}
+
+	/**
+	 * Counts the distinct words of a parse.
+	 *
+	 * @param newWords the number of words that were not in the repository
+	 * @param existingWords the number of words that were, or -1 if they were not
+	 *        counted
+	 */
+	void addWords(long newWords, long existingWords) {
+		this.newWords.addAndGet(newWords);
+		// once any parse has left the existing words uncounted, the total stays unknown
+		this.existingWords.accumulateAndGet(existingWords, (total, added) -> total < 0 || added < 0 ? -1 : total + added);
+	}
+
+	/**
+	 * Counts the lookups made by a tree.
+	 *
+	 * @param lookups the number of lookups
+	 * @param comparisons the number of words compared against by those lookups
+	 */
+	void addLookups(long lookups, long comparisons) {
+		this.lookups.addAndGet(lookups);
+		this.comparisons.addAndGet(comparisons);
+	}
+
+	/**
+	 * Records the shape of the tree.
+	 *
+	 * @param size the number of words in the tree
+	 * @param height the height of the tree
+	 */
+	void setTree(int size, int height) {
+		treeSize = size;
+		treeHeight = height;
+	}
+
+	@Override
+	public double getLoadMillis() {
+		return loadNanos.get() / 1e6;
+	}
+
+	@Override
+	public double getParseMillis() {
+		return parseNanos.get() / 1e6;
+	}
+
+	@Override
+	public double getPrintMillis() {
+		return printNanos.get() / 1e6;
+	}
+
+	@Override
+	public double getSaveMillis() {
+		return saveNanos.get() / 1e6;
+	}
+
+	@Override
+	public long getFilesParsed() {
+		return filesParsed.get();
+	}
+
+	@Override
+	public long getLinesParsed() {
+		return linesParsed.get();
+	}
+
+	@Override
+	public long getTokensParsed() {
+		return tokensParsed.get();
+	}
+
+	@Override
+	public double getLinesPerSecond() {
+		return perSecond(getLinesParsed(), parseNanos.get());
+	}
+
+	@Override
+	public double getTokensPerSecond() {
+		return perSecond(getTokensParsed(), parseNanos.get());
+	}
+
+	@Override
+	public long getNewWords() {
+		return newWords.get();
+	}
+
+	@Override
+	public long getExistingWords() {
+		return existingWords.get();
+	}
+
+	@Override
+	public int getTreeSize() {
+		return treeSize;
+	}
+
+	@Override
+	public int getTreeHeight() {
+		return treeHeight;
+	}
+
+	@Override
+	public long getLookups() {
+		return lookups.get();
+	}
+
+	@Override
+	public double getComparisonsPerLookup() {
+		long lookups = this.lookups.get();
+		return lookups == 0 ? 0 : (double) comparisons.get() / lookups;
+	}
+
+	@Override
+	public long getRepositoryBytesRead() {
+		return bytesRead.get();
+	}
+
+	@Override
+	public long getRepositoryBytesWritten() {
+		return bytesWritten.get();
+	}
+
+	/**
+	 * Formats the statistics as the report printed by the -stats option.
+	 *
+	 * @return one line per phase, followed by the words and the tree
+	 */
+	@Override
+	public String toString() {
+		String separator = System.lineSeparator();
+		return "Statistics:" + separator
+				+ String.format(Locale.ROOT, "  load   %10.1f ms, %,d repository bytes read%n",
+						getLoadMillis(), getRepositoryBytesRead())
+				+ String.format(Locale.ROOT, "  parse  %10.1f ms, %,d files, %,d lines (%,.0f/s), %,d words (%,.0f/s)%n",
+						getParseMillis(), getFilesParsed(), getLinesParsed(), getLinesPerSecond(),
+						getTokensParsed(), getTokensPerSecond())
+				+ String.format(Locale.ROOT, "  print  %10.1f ms%n", getPrintMillis())
+				+ String.format(Locale.ROOT, "  save   %10.1f ms, %,d repository bytes written%n",
+						getSaveMillis(), getRepositoryBytesWritten())
+				+ String.format(Locale.ROOT, "  words  %,d new, %s existing%n",
+						getNewWords(), getExistingWords() < 0 ? "uncounted" : String.format(Locale.ROOT, "%,d", getExistingWords()))
+				+ String.format(Locale.ROOT, "  tree   %,d words, height %d, %.1f comparisons per lookup over %,d lookups",
+						treeSize, treeHeight, getComparisonsPerLookup(), getLookups());
+	}
+
+	/**
+	 * Divides a count by a duration.
+	 *
+	 * @param count the number of things done
+	 * @param nanos the time taken, in nanoseconds
+	 * @return the number done per second, or 0 if no time was taken
+	 */
+	private static double perSecond(long count, long nanos) {
+		return nanos == 0 ? 0 : count * 1e9 / nanos;
+	}
+}
@@ -0,0 +1,98 @@
+package appDomain;
+
+/**
+ * The management interface through which WordTrackerStats is exposed over JMX.
+ * Every attribute is read-only and reflects the run so far; times are in
+ * milliseconds and are 0 for a phase that has not run yet.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public interface WordTrackerStatsMBean {
+
+	/**
+	 * @return the time spent loading the repository
+	 */
+	double getLoadMillis();
+
+	/**
+	 * @return the time spent parsing the input files and merging their words
+	 */
+	double getParseMillis();
+
+	/**
+	 * @return the time spent printing the report
+	 */
+	double getPrintMillis();
+
+	/**
+	 * @return the time spent saving the repository
+	 */
+	double getSaveMillis();
+
+	/**
+	 * @return the number of input files parsed
+	 */
+	long getFilesParsed();
+
+	/**
+	 * @return the number of lines in the input files
+	 */
+	long getLinesParsed();
+
+	/**
+	 * @return the number of words found in the input files, counting repeats
+	 */
+	long getTokensParsed();
+
+	/**
+	 * @return the lines parsed per second of parse time
+	 */
+	double getLinesPerSecond();
+
+	/**
+	 * @return the words found per second of parse time
+	 */
+	double getTokensPerSecond();
+
+	/**
+	 * @return the number of distinct words parsed that were not in the repository
+	 */
+	long getNewWords();
+
+	/**
+	 * @return the number of distinct words parsed that were already in the
+	 *         repository, or -1 if they were not counted
+	 */
+	long getExistingWords();
+
+	/**
+	 * @return the number of words in the tree
+	 */
+	int getTreeSize();
+
+	/**
+	 * @return the height of the tree
+	 */
+	int getTreeHeight();
+
+	/**
+	 * @return the number of tree lookups made while parsing
+	 */
+	long getLookups();
+
+	/**
+	 * @return the average number of words compared against per lookup
+	 */
+	double getComparisonsPerLookup();
+
+	/**
+	 * @return the number of bytes read from the repository and its journal
+	 */
+	long getRepositoryBytesRead();
+
+	/**
+	 * @return the number of bytes written to the repository and its journal
+	 */
+	long getRepositoryBytesWritten();
+}
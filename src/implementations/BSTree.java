@@ -1,8 +1,15 @@
 package implementations;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import utilities.BSTreeADT;
 import utilities.Iterator;
 
@@ -21,7 +28,9 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 	private static final long serialVersionUID = 1L;
 	
 	BSTreeNode<E> root;
-	private int size;
+	int size;
+	transient int modCount;
+	private transient LookupCounts counts;
 	
 	/**
 	 * Construct for an empty BST
@@ -50,24 +59,23 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 	 */
 	@Override
 	public BSTreeNode<E> getRoot() throws NullPointerException {
-		if (root == null) {
+		BSTreeNode<E> Root = currentRoot();
+		if (Root == null) {
 			throw new NullPointerException();
 		}
-		return root;
+		return Root;
 	}
 
 	
 	/**
-	 * Returns the height of this BST.
+	 * Returns the height of this BST. Every node caches the height of its own
+	 * subtree, so this is read straight from the root.
 	 * 
 	 * @return the height of the tree.
 	 */
 	@Override
 	public int getHeight() {
-		if (root == null) {
-			return 0;
-		}
-		return root.height(root);
+		return heightOf(currentRoot());
 	}
 
 	/**
@@ -99,8 +107,12 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 	 */
 	@Override
 	public void clear() {
-		root.clear();
+		if (root != null) {
+			root.clear();
+		}
+		root = null;
 		size = 0;
+		modCount++;
 	}
 	
 	
@@ -119,18 +131,22 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 		}
 		
 		BSTreeNode<E> CurrentNode = root;
+		int steps = 0;
 		while (CurrentNode != null && CurrentNode.getElement() != null) {
-			if (CurrentNode.getElement().compareTo(entry) < 0) {
+			steps++;
+			int comparison = CurrentNode.getElement().compareTo(entry);
+			if (comparison < 0) {
 				CurrentNode = CurrentNode.getRight();					
 			}
-			else if (CurrentNode.getElement().compareTo(entry) > 0) {
+			else if (comparison > 0) {
 				CurrentNode = CurrentNode.getLeft();			
 			}
-			else if (CurrentNode.getElement().compareTo(entry) == 0){
-				return true;
+			else {
+				break;
 			}
 		}
-		return false;
+		countLookup(steps);
+		return CurrentNode != null && CurrentNode.getElement() != null;
 	}
 
 	
@@ -148,18 +164,22 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 		}
 		
 		BSTreeNode<E> CurrentNode = root;
+		int steps = 0;
 		while (CurrentNode != null) {
-			if (CurrentNode.getElement().compareTo(entry) < 0) {
+			steps++;
+			int comparison = CurrentNode.getElement().compareTo(entry);
+			if (comparison < 0) {
 				CurrentNode = CurrentNode.getRight();
 			}
-			else if (CurrentNode.getElement().compareTo(entry) > 0) {
+			else if (comparison > 0) {
 				CurrentNode = CurrentNode.getLeft();
 			}
-			else if (CurrentNode.getElement().compareTo(entry) == 0){
-				return CurrentNode;
+			else {
+				break;
 			}
 		}
-		return null;
+		countLookup(steps);
+		return CurrentNode;
 	}
 
 	
@@ -176,49 +196,458 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 			throw new NullPointerException();
 		}
 		
-		size++;
 		BSTreeNode<E> CurrentNode = root;
 		if (CurrentNode == null) {
-			root = new BSTreeNode<E>(newEntry);
+			link(null, false, newEntry);
 			return true;
 		}
 		
-		while (CurrentNode != null) {
-			if (CurrentNode.getElement().compareTo(newEntry) < 0) {
-				if (CurrentNode.getRight() == null) {
-					CurrentNode.setRight(newEntry);
-					CurrentNode.getRight().setParent(CurrentNode);;
-					return true;
-				}
-				else {
-					CurrentNode = CurrentNode.getRight();
-				}
-			}
-			else if (CurrentNode.getElement().compareTo(newEntry) > 0) {
+		while (true) {
+			// equal elements go to the right
+			if (CurrentNode.getElement().compareTo(newEntry) > 0) {
 				if (CurrentNode.getLeft() == null) {
-					CurrentNode.setLeft(newEntry);
-					CurrentNode.getLeft().setParent(CurrentNode);
+					link(CurrentNode, true, newEntry);
 					return true;
 				}
-				else {
-					CurrentNode = CurrentNode.getLeft();
-				}
+				CurrentNode = CurrentNode.getLeft();
 			}
-			else if (CurrentNode.getElement().compareTo(newEntry) == 0){
+			else {
 				if (CurrentNode.getRight() == null) {
-					CurrentNode.setRight(newEntry);
-					CurrentNode.getRight().setParent(CurrentNode);
+					link(CurrentNode, false, newEntry);
 					return true;
 				}
-				else {
-					CurrentNode = CurrentNode.getRight();
+				CurrentNode = CurrentNode.getRight();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Returns the node holding the element equal to the given key, creating and
+	 * adding one if there is none. The tree is descended only once and the key is
+	 * compared only once per level, so this replaces a search followed by an add.
+	 * 
+	 * @param key the element to look for
+	 * @param factory creates the element to add from the key when none is found
+	 * @return the node containing the existing or newly added element
+	 * @throws NullPointerException if the key, or the element created for it, is null
+	 */
+	public BSTreeNode<E> computeIfAbsent(E key, Function<? super E, ? extends E> factory) throws NullPointerException {
+		if (key == null) {
+			throw new NullPointerException();
+		}
+		
+		BSTreeNode<E> Parent = null;
+		BSTreeNode<E> CurrentNode = root;
+		int comparison = 0;
+		int steps = 0;
+		while (CurrentNode != null) {
+			steps++;
+			comparison = CurrentNode.getElement().compareTo(key);
+			if (comparison == 0) {
+				break;
+			}
+			Parent = CurrentNode;
+			CurrentNode = comparison > 0 ? CurrentNode.getLeft() : CurrentNode.getRight();
+		}
+		countLookup(steps);
+		if (CurrentNode != null) {
+			return CurrentNode;
+		}
+		
+		E newEntry = factory.apply(key);
+		if (newEntry == null) {
+			throw new NullPointerException();
+		}
+		return link(Parent, comparison > 0, newEntry);
+	}
+	
+	
+	/**
+	 * Turns counting lookups on or off. Lookups are not counted unless turned
+	 * on, so that they cost nothing extra when nobody reads the counts, and
+	 * turning counting off discards the counts. It should be set before the tree
+	 * is shared with other threads.
+	 * 
+	 * @param counting true to count lookups and the comparisons they make
+	 */
+	public void setCounting(boolean counting) {
+		if (!counting) {
+			counts = null;
+		}
+		else if (counts == null) {
+			counts = new LookupCounts();
+		}
+	}
+	
+	
+	/**
+	 * Returns the number of lookups made by search, contains and computeIfAbsent
+	 * since counting was turned on.
+	 * 
+	 * @return the number of lookups, or 0 if lookups are not being counted
+	 */
+	public long getLookupCount() {
+		LookupCounts current = counts;
+		return current == null ? 0 : current.lookups.sum();
+	}
+	
+	
+	/**
+	 * Returns the number of elements compared against by all lookups, one per
+	 * level of the tree descended, so that dividing by the lookup count gives the
+	 * average cost of a lookup.
+	 * 
+	 * @return the number of comparisons, or 0 if lookups are not being counted
+	 */
+	public long getComparisonCount() {
+		LookupCounts current = counts;
+		return current == null ? 0 : current.comparisons.sum();
+	}
+	
+	
+	/**
+	 * Counts one lookup, if lookups are being counted.
+	 * 
+	 * @param steps the number of elements the lookup compared against
+	 */
+	final void countLookup(int steps) {
+		LookupCounts current = counts;
+		if (current != null) {
+			current.lookups.increment();
+			current.comparisons.add(steps);
+		}
+	}
+	
+	
+	/**
+	 * The counts kept while counting is on. They are LongAdders since the
+	 * lookups of a ConcurrentBSTree are made from many threads at once.
+	 */
+	private static final class LookupCounts {
+		final LongAdder lookups = new LongAdder();
+		final LongAdder comparisons = new LongAdder();
+	}
+	
+	
+	/**
+	 * Replaces the contents of this tree with the given elements, building a tree
+	 * of the smallest possible height in O(n). The elements are placed straight
+	 * into position without comparing any of them, so they must already be in
+	 * strictly ascending order, as an inorder iterator or a repository file
+	 * returns them. The result is balanced, so it is also a valid AVL tree.
+	 * 
+	 * @param sorted the elements, in ascending order without duplicates
+	 * @param count the number of elements to take from the iterator
+	 * @throws NoSuchElementException if the iterator has fewer than count elements
+	 */
+	public void rebuild(Iterator<E> sorted, int count) throws NoSuchElementException {
+		replaceRoot(build(sorted, count), count);
+	}
+	
+	
+	/**
+	 * Replaces the contents of this tree with the elements of an array, building a
+	 * tree of the smallest possible height in O(n).
+	 * 
+	 * @param sorted the elements, in ascending order without duplicates
+	 * @see #rebuild(Iterator, int)
+	 */
+	public void rebuild(E[] sorted) {
+		rebuild(elements(Arrays.asList(sorted)), sorted.length);
+	}
+	
+	
+	/**
+	 * Combines the elements of another tree with the elements of this one in
+	 * O(n + m), leaving the other tree unchanged. Both trees are walked in inorder
+	 * side by side, and this tree is then rebuilt from the combined elements, so
+	 * it ends up balanced whatever shape either tree had. This beats adding the
+	 * other tree's elements one at a time whenever the two trees are of similar
+	 * size, such as indexes built separately from different files.
+	 * 
+	 * @param other the tree whose elements to add, which must not be modified
+	 *        during the merge
+	 * @param combine given an element of this tree and the equal element of the
+	 *        other tree, returns the element to keep in their place
+	 * @throws NullPointerException if combine returns null
+	 */
+	public void merge(BSTree<E> other, BinaryOperator<E> combine) throws NullPointerException {
+		List<E> merged = zip(inorderIterator(), other.inorderIterator(), combine);
+		rebuild(elements(merged), merged.size());
+	}
+	
+	
+	/**
+	 * Merges two sorted sequences of distinct elements into one.
+	 * 
+	 * @param mine the elements of this tree, in inorder
+	 * @param theirs the elements of the other tree, in inorder
+	 * @param combine chooses the element to keep when both sequences hold one
+	 * @return every element of either sequence, in inorder
+	 * @throws NullPointerException if combine returns null
+	 */
+	List<E> zip(Iterator<E> mine, Iterator<E> theirs, BinaryOperator<E> combine) throws NullPointerException {
+		List<E> merged = new ArrayList<>();
+		E myNext = mine.hasNext() ? mine.next() : null;
+		E theirNext = theirs.hasNext() ? theirs.next() : null;
+		while (myNext != null && theirNext != null) {
+			int comparison = myNext.compareTo(theirNext);
+			if (comparison < 0) {
+				merged.add(myNext);
+				myNext = mine.hasNext() ? mine.next() : null;
+			}
+			else if (comparison > 0) {
+				merged.add(theirNext);
+				theirNext = theirs.hasNext() ? theirs.next() : null;
+			}
+			else {
+				E combined = combine.apply(myNext, theirNext);
+				if (combined == null) {
+					throw new NullPointerException();
 				}
+				merged.add(combined);
+				myNext = mine.hasNext() ? mine.next() : null;
+				theirNext = theirs.hasNext() ? theirs.next() : null;
 			}
 		}
-		return false;
+		for (; myNext != null; myNext = mine.hasNext() ? mine.next() : null) {
+			merged.add(myNext);
+		}
+		for (; theirNext != null; theirNext = theirs.hasNext() ? theirs.next() : null) {
+			merged.add(theirNext);
+		}
+		return merged;
+	}
+	
+	
+	/**
+	 * Wraps a list in the tree's Iterator interface.
+	 * 
+	 * @param list the list to iterate over
+	 * @return an iterator over the list's elements, in order
+	 */
+	static <E> Iterator<E> elements(List<E> list) {
+		java.util.Iterator<E> iterator = list.iterator();
+		return new Iterator<E>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+			
+			@Override
+			public E next() throws NoSuchElementException {
+				return iterator.next();
+			}
+		};
+	}
+	
+	
+	/**
+	 * Builds a balanced subtree from the next elements of an iterator. The left
+	 * half is built first, so the elements are consumed in inorder.
+	 * 
+	 * @param sorted the elements, in ascending order
+	 * @param count the number of elements the subtree holds
+	 * @return the root of the subtree, or null if count is 0
+	 */
+	BSTreeNode<E> build(Iterator<E> sorted, int count) {
+		if (count == 0) {
+			return null;
+		}
+		int leftCount = count / 2;
+		BSTreeNode<E> Left = build(sorted, leftCount);
+		E element = sorted.next();
+		BSTreeNode<E> Right = build(sorted, count - leftCount - 1);
+		return node(element, Left, Right);
+	}
+	
+	
+	/**
+	 * Creates a node with the given children, links them back to it and works out
+	 * its height.
+	 * 
+	 * @param element the element to store
+	 * @param left the left child
+	 * @param right the right child
+	 * @return the new node
+	 */
+	BSTreeNode<E> node(E element, BSTreeNode<E> left, BSTreeNode<E> right) {
+		BSTreeNode<E> NewNode = new BSTreeNode<E>(element);
+		NewNode.setLeft(left);
+		NewNode.setRight(right);
+		if (left != null) {
+			left.setParent(NewNode);
+		}
+		if (right != null) {
+			right.setParent(NewNode);
+		}
+		updateHeight(NewNode);
+		return NewNode;
+	}
+	
+	
+	/**
+	 * Makes the given subtree the whole contents of this tree.
+	 * 
+	 * @param newRoot the new root, or null for an empty tree
+	 * @param newSize the number of elements below the new root
+	 */
+	void replaceRoot(BSTreeNode<E> newRoot, int newSize) {
+		root = newRoot;
+		size = newSize;
+		modCount++;
+	}
+	
+	
+	/**
+	 * Creates a node for a new element and links it below the given parent, or as
+	 * the root when there is no parent, then updates the bookkeeping.
+	 * 
+	 * @param parent the node to attach to, or null for an empty tree
+	 * @param asLeft true to attach as the left child, false for the right child
+	 * @param newEntry the element to store
+	 * @return the newly linked node
+	 */
+	private BSTreeNode<E> link(BSTreeNode<E> parent, boolean asLeft, E newEntry) {
+		BSTreeNode<E> NewNode = new BSTreeNode<E>(newEntry);
+		if (parent == null) {
+			root = NewNode;
+		}
+		else if (asLeft) {
+			parent.setLeft(NewNode);
+		}
+		else {
+			parent.setRight(NewNode);
+		}
+		NewNode.setParent(parent);
+		
+		size++;
+		modCount++;
+		afterInsert(NewNode);
+		return NewNode;
+	}
+
+	
+	/**
+	 * Called once a new node has been linked into the tree. A plain BST only
+	 * refreshes the cached heights and sizes above it; subclasses override this
+	 * to restore their balance invariant.
+	 * 
+	 * @param node the node that was just inserted
+	 */
+	void afterInsert(BSTreeNode<E> node) {
+		updateHeights(node.getParent());
+	}
+	
+	
+	/**
+	 * Refreshes the cached heights and sizes from the given node up to the root.
+	 * The size of every ancestor changes with each insertion or removal, so the
+	 * whole path is refreshed even once the heights stop changing.
+	 * 
+	 * @param node the lowest node whose subtrees may have changed
+	 */
+	void updateHeights(BSTreeNode<E> node) {
+		while (node != null) {
+			updateHeight(node);
+			node = node.getParent();
+		}
+	}
+	
+	
+	/**
+	 * Recomputes the cached height of a node, and the number of elements below
+	 * it, from its children.
+	 * 
+	 * @param node the node to update
+	 */
+	void updateHeight(BSTreeNode<E> node) {
+		node.setHeight(Math.max(heightOf(node.getLeft()), heightOf(node.getRight())) + 1);
+		node.setSize(sizeOf(node.getLeft()) + sizeOf(node.getRight()) + 1);
+	}
+	
+	
+	/**
+	 * Returns the cached height of a possibly empty subtree.
+	 * 
+	 * @param node the root of the subtree
+	 * @return the height, or 0 for an empty subtree
+	 */
+	int heightOf(BSTreeNode<E> node) {
+		return node == null ? 0 : node.getHeight();
+	}
+	
+	
+	/**
+	 * Returns the cached number of elements in a possibly empty subtree.
+	 * 
+	 * @param node the root of the subtree
+	 * @return the number of elements, or 0 for an empty subtree
+	 */
+	int sizeOf(BSTreeNode<E> node) {
+		return node == null ? 0 : node.getSize();
 	}
 
 	
+	/**
+	 * Called once a node has been unlinked from the tree. A plain BST only
+	 * refreshes the cached heights and sizes above it; subclasses override this
+	 * to restore their balance invariant.
+	 * 
+	 * @param parent the former parent of the unlinked node, or null if it was
+	 *        the root
+	 */
+	void afterRemove(BSTreeNode<E> parent) {
+		updateHeights(parent);
+	}
+	
+	
+	/**
+	 * Points the parent's link that currently refers to oldChild at newChild
+	 * instead, updating the root when there is no parent.
+	 * 
+	 * @param parent the parent of oldChild, or null if oldChild is the root
+	 * @param oldChild the node being replaced
+	 * @param newChild the node taking its place, may be null
+	 */
+	void replaceChild(BSTreeNode<E> parent, BSTreeNode<E> oldChild, BSTreeNode<E> newChild) {
+		if (parent == null) {
+			root = newChild;
+		}
+		else if (parent.getLeft() == oldChild) {
+			parent.setLeft(newChild);
+		}
+		else {
+			parent.setRight(newChild);
+		}
+		
+		if (newChild != null) {
+			newChild.setParent(parent);
+		}
+	}
+	
+	
+	/**
+	 * Unlinks a node that has at most one child, moving the child up into its
+	 * place, and returns a detached copy of its element.
+	 * 
+	 * @param node the node to unlink
+	 * @return a new node containing the element that was removed
+	 */
+	private BSTreeNode<E> unlink(BSTreeNode<E> node) {
+		BSTreeNode<E> Parent = node.getParent();
+		replaceChild(Parent, node, node.getLeft() != null ? node.getLeft() : node.getRight());
+		size--;
+		modCount++;
+		afterRemove(Parent);
+		
+		BSTreeNode<E> TempNode = new BSTreeNode<E>(node.getElement());
+		node.delete();
+		return TempNode;
+	}
+	
+	
 	/**
 	 * Removes the node containing the minimum element in this tree.
 	 * 
@@ -226,26 +655,15 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 	 */
 	@Override
 	public BSTreeNode<E> removeMin() {
-		if (size == 0) {
+		if (root == null) {
 			return null;
 		}
-		else if (size > 0) {
-			size--;			
-		}
 		
 		BSTreeNode<E> SmallestNode = root;
 		while (SmallestNode.getLeft() != null) {
 			SmallestNode = SmallestNode.getLeft();				
 		}
-		
-		if (SmallestNode.getRight() != null) {
-			SmallestNode.getParent().setLeft(SmallestNode.getRight());
-		}
-		
-		BSTreeNode<E> TempNode = new BSTreeNode<E>(SmallestNode.getElement());
-		SmallestNode.delete();
-		SmallestNode = null;
-		return TempNode;
+		return unlink(SmallestNode);
 	}
 	
 	
@@ -256,26 +674,47 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 	 */
 	@Override
 	public BSTreeNode<E> removeMax() {
-		if (size == 0) {
+		if (root == null) {
 			return null;
 		}
-		else if (size > 0) {
-			size--;			
-		}
 		
 		BSTreeNode<E> LargestNode = root;
 		while (LargestNode.getRight() != null) {
 			LargestNode = LargestNode.getRight();				
 		}
-		
-		if (LargestNode.getRight() != null) {
-			LargestNode.getParent().setRight(LargestNode.getLeft());
+		return unlink(LargestNode);
+	}
+	
+	
+	/**
+	 * Removes the specified element from this tree. A node with two children
+	 * takes over the element that follows it in inorder, and the node that held
+	 * that element, which has no left child, is unlinked instead. Either way
+	 * only one node leaves the tree and the path above it is refreshed, so this
+	 * takes O(height).
+	 * 
+	 * @param entry the element to remove
+	 * @return a new node containing the element removed, or null if the element
+	 *         is not in the tree
+	 * @throws NullPointerException if the specified entry is null.
+	 */
+	public BSTreeNode<E> remove(E entry) throws NullPointerException {
+		BSTreeNode<E> Node = search(entry);
+		if (Node == null) {
+			return null;
+		}
+		if (Node.getLeft() == null || Node.getRight() == null) {
+			return unlink(Node);
 		}
 		
-		BSTreeNode<E> TempNode = new BSTreeNode<E>(LargestNode.getElement());
-		LargestNode.delete();
-		LargestNode = null;
-		return TempNode;
+		BSTreeNode<E> Successor = Node.getRight();
+		while (Successor.getLeft() != null) {
+			Successor = Successor.getLeft();
+		}
+		E removed = Node.getElement();
+		Node.setElement(Successor.getElement());
+		unlink(Successor);
+		return new BSTreeNode<E>(removed);
 	}
 	
 	
@@ -286,7 +725,291 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 	 */
 	@Override
 	public Iterator<E> inorderIterator() {
-		return new Traverser("InOrder");
+		return new InorderTraverser(currentRoot());
+	}
+
+
+	/**
+	 * Returns an iterator over the elements from one element up to, but not
+	 * including, another, in inorder. Only the path down to the first element and
+	 * the elements returned are visited, so a range of k elements costs
+	 * O(height + k) rather than a walk of the whole tree.
+	 *
+	 * @param from the smallest element to return, or null to start at the smallest
+	 *        element in the tree
+	 * @param to the element to stop at, or null to carry on to the largest element
+	 * @return an iterator over the elements in the range
+	 */
+	public Iterator<E> range(E from, E to) {
+		return new InorderTraverser(currentRoot(), from, to);
+	}
+
+
+	/**
+	 * Returns an iterator over the elements smaller than the given element, in
+	 * inorder.
+	 *
+	 * @param to the element to stop at
+	 * @return an iterator over the elements before to
+	 * @throws NullPointerException if the specified element is null.
+	 */
+	public Iterator<E> headIterator(E to) throws NullPointerException {
+		if (to == null) {
+			throw new NullPointerException();
+		}
+		return range(null, to);
+	}
+
+
+	/**
+	 * Returns an iterator over the elements not smaller than the given element, in
+	 * inorder.
+	 *
+	 * @param from the smallest element to return
+	 * @return an iterator over the elements from from onwards
+	 * @throws NullPointerException if the specified element is null.
+	 */
+	public Iterator<E> tailIterator(E from) throws NullPointerException {
+		if (from == null) {
+			throw new NullPointerException();
+		}
+		return range(from, null);
+	}
+
+
+	/**
+	 * Finds the largest element that is not larger than the given element.
+	 *
+	 * @param entry the element to search for
+	 * @return the element equal to entry, or else the closest one before it, or
+	 *         null if every element is larger
+	 * @throws NullPointerException if the specified entry is null.
+	 */
+	public E floor(E entry) throws NullPointerException {
+		if (entry == null) {
+			throw new NullPointerException();
+		}
+
+		BSTreeNode<E> CurrentNode = currentRoot();
+		E Floor = null;
+		while (CurrentNode != null) {
+			int comparison = CurrentNode.getElement().compareTo(entry);
+			if (comparison == 0) {
+				return CurrentNode.getElement();
+			}
+			if (comparison < 0) {
+				Floor = CurrentNode.getElement();
+				CurrentNode = CurrentNode.getRight();
+			}
+			else {
+				CurrentNode = CurrentNode.getLeft();
+			}
+		}
+		return Floor;
+	}
+
+
+	/**
+	 * Finds the smallest element that is not smaller than the given element.
+	 *
+	 * @param entry the element to search for
+	 * @return the element equal to entry, or else the closest one after it, or
+	 *         null if every element is smaller
+	 * @throws NullPointerException if the specified entry is null.
+	 */
+	public E ceiling(E entry) throws NullPointerException {
+		if (entry == null) {
+			throw new NullPointerException();
+		}
+
+		BSTreeNode<E> CurrentNode = currentRoot();
+		E Ceiling = null;
+		while (CurrentNode != null) {
+			int comparison = CurrentNode.getElement().compareTo(entry);
+			if (comparison == 0) {
+				return CurrentNode.getElement();
+			}
+			if (comparison > 0) {
+				Ceiling = CurrentNode.getElement();
+				CurrentNode = CurrentNode.getLeft();
+			}
+			else {
+				CurrentNode = CurrentNode.getRight();
+			}
+		}
+		return Ceiling;
+	}
+
+
+	/**
+	 * Counts the elements smaller than the given element, which is the position
+	 * the element has, or would have, in inorder. Every node caches the number
+	 * of elements below it, so this takes a single descent of the tree.
+	 * 
+	 * @param entry the element to find the rank of
+	 * @return the number of elements smaller than entry
+	 * @throws NullPointerException if the specified entry is null.
+	 */
+	public int rank(E entry) throws NullPointerException {
+		if (entry == null) {
+			throw new NullPointerException();
+		}
+		return rankFrom(currentRoot(), entry);
+	}
+	
+	
+	/**
+	 * Returns the element at the given position in inorder, for example the
+	 * 50,000th word alphabetically, in a single descent of the tree.
+	 * 
+	 * @param index the position of the element, from 0 for the smallest
+	 * @return the element at that position
+	 * @throws IndexOutOfBoundsException if the index is not within the tree
+	 */
+	public E select(int index) throws IndexOutOfBoundsException {
+		BSTreeNode<E> Root = currentRoot();
+		if (index < 0 || index >= sizeOf(Root)) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + sizeOf(Root));
+		}
+		return selectFrom(Root, index);
+	}
+	
+	
+	/**
+	 * Counts the elements from one element up to, but not including, another,
+	 * without visiting them.
+	 * 
+	 * @param from the smallest element to count, or null to start at the smallest
+	 *        element in the tree
+	 * @param to the element to stop at, or null to carry on to the largest element
+	 * @return the number of elements in the range
+	 */
+	public int countInRange(E from, E to) {
+		BSTreeNode<E> Root = currentRoot();
+		int start = from == null ? 0 : rankFrom(Root, from);
+		int end = to == null ? sizeOf(Root) : rankFrom(Root, to);
+		return Math.max(0, end - start);
+	}
+	
+	
+	/**
+	 * Returns an iterator over one page of the elements in inorder, such as the
+	 * words a screen of a sorted list shows. Finding the start of the page takes
+	 * a single descent of the tree, however far into the tree it is.
+	 * 
+	 * @param offset the position of the first element of the page
+	 * @param limit the largest number of elements to return
+	 * @return an iterator over at most limit elements, starting at offset
+	 * @throws IllegalArgumentException if offset or limit is negative
+	 */
+	public Iterator<E> page(int offset, int limit) throws IllegalArgumentException {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Offset: " + offset + ", Limit: " + limit);
+		}
+		BSTreeNode<E> Root = currentRoot();
+		int count = sizeOf(Root);
+		if (offset >= count || limit == 0) {
+			return new InorderTraverser(null);
+		}
+		E to = limit < count - offset ? selectFrom(Root, offset + limit) : null;
+		return new InorderTraverser(Root, selectFrom(Root, offset), to);
+	}
+	
+	
+	/**
+	 * Counts the elements smaller than the given element in a subtree.
+	 * 
+	 * @param node the root of the subtree
+	 * @param entry the element to find the rank of
+	 * @return the number of elements smaller than entry
+	 */
+	private int rankFrom(BSTreeNode<E> node, E entry) {
+		int rank = 0;
+		while (node != null) {
+			if (node.getElement().compareTo(entry) < 0) {
+				rank += sizeOf(node.getLeft()) + 1;
+				node = node.getRight();
+			}
+			else {
+				node = node.getLeft();
+			}
+		}
+		return rank;
+	}
+	
+	
+	/**
+	 * Finds the element at a position in inorder within a subtree.
+	 * 
+	 * @param node the root of the subtree
+	 * @param index the position, which must be within the subtree
+	 * @return the element at that position
+	 */
+	private E selectFrom(BSTreeNode<E> node, int index) {
+		while (true) {
+			int leftSize = sizeOf(node.getLeft());
+			if (index < leftSize) {
+				node = node.getLeft();
+			}
+			else if (index > leftSize) {
+				index -= leftSize + 1;
+				node = node.getRight();
+			}
+			else {
+				return node.getElement();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Splits the inorder traversal of the tree into consecutive ranges that can be
+	 * walked independently, for example by separate threads. The elements stored
+	 * in the top levels of the tree mark where each range ends and the next one
+	 * begins, so in a balanced tree the ranges hold similar numbers of elements.
+	 * Walking the iterators one after another visits every element exactly once,
+	 * in inorder.
+	 * 
+	 * @param count the number of ranges wanted
+	 * @return at least one and at most twice count iterators, in order; some may
+	 *         be empty
+	 */
+	public List<Iterator<E>> inorderPartitions(int count) {
+		int levels = 0;
+		while ((1 << levels) < count && levels < 30) {
+			levels++;
+		}
+
+		BSTreeNode<E> start = currentRoot();
+		List<E> bounds = new ArrayList<>();
+		collectBounds(start, levels, bounds);
+
+		List<Iterator<E>> partitions = new ArrayList<>();
+		E from = null;
+		for (E to : bounds) {
+			partitions.add(new InorderTraverser(start, from, to));
+			from = to;
+		}
+		partitions.add(new InorderTraverser(start, from, null));
+		return partitions;
+	}
+	
+	
+	/**
+	 * Adds the elements of the given number of top levels of a subtree to a list,
+	 * in inorder.
+	 * 
+	 * @param node the root of the subtree
+	 * @param levels the number of levels to collect
+	 * @param bounds the list to add the elements to
+	 */
+	private void collectBounds(BSTreeNode<E> node, int levels, List<E> bounds) {
+		if (node == null || levels == 0) {
+			return;
+		}
+		collectBounds(node.getLeft(), levels - 1, bounds);
+		bounds.add(node.getElement());
+		collectBounds(node.getRight(), levels - 1, bounds);
 	}
 	
 	
@@ -297,7 +1020,7 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 	 */
 	@Override
 	public Iterator<E> preorderIterator() {
-		return new Traverser("PreOrder");
+		return new PreorderTraverser(currentRoot());
 	}
 	
 	
@@ -308,58 +1031,52 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 	 */
 	@Override
 	public Iterator<E> postorderIterator() {
-		return new Traverser("PostOrder");
+		return new PostorderTraverser(currentRoot());
+	}
+	
+	
+	/**
+	 * Returns the root that reads and traversals should start from. This is
+	 * simply the root of the tree, but subclasses that never modify nodes in
+	 * place return the root of the latest version published instead.
+	 * 
+	 * @return the root node, or null for an empty tree
+	 */
+	BSTreeNode<E> currentRoot() {
+		return root;
 	}
 
 	
 	/**
 	 * An inner class that implements an iterator for traversing the BST.
+	 * 
+	 * Rather than copying the tree up front, each traverser keeps an explicit stack
+	 * of the nodes it still has to come back to and walks the tree one step per
+	 * call to next(), so it only ever holds O(height) nodes. A traverser fails fast
+	 * with a ConcurrentModificationException if the tree is structurally modified
+	 * after it was created.
 	 */
-	private class Traverser implements Iterator<E> {
-		ArrayList<E> elementList;
-		int index;
-		String type;
+	private abstract class Traverser implements Iterator<E> {
+		ArrayDeque<BSTreeNode<E>> stack;
+		int expectedModCount;
 		
 		
 		/**
-		 * Creates a new traverser for the specified traversal type.
-		 * 
-		 * @param type the type of traversal.
+		 * Creates a new traverser positioned before the first element.
 		 */
-	    public Traverser(String type) {
-	    	elementList = new ArrayList<>();
-	    	index = 0;
-	    	this.type = type;
-	    	findOrder(root);
+	    public Traverser() {
+	    	stack = new ArrayDeque<>();
+	    	expectedModCount = modCount;
 	    }
-
+	    
 	    
 	    /**
-	     * Recursive helper function to collect elements from the tree in the specified traversal order.
+	     * Pops the next node in the traversal order off the stack and pushes whatever
+	     * is needed to continue from it.
 	     * 
-	     * @param node the current node being visited in the traversal
+	     * @return the next node in the traversal order
 	     */
-	    private void findOrder(BSTreeNode<E> node) {
-	        if (node == null) return;
-	        
-	        if (type == "InOrder") {
-	        	findOrder(node.getLeft());
-	        	elementList.add(node.getElement());
-	        	findOrder(node.getRight());
-	        }
-	        
-	        else if (type == "PreOrder") {
-		        elementList.add(node.getElement());
-		        findOrder(node.getLeft());
-		        findOrder(node.getRight());
-	        }
-	        
-	        else if (type == "PostOrder") {
-	        	findOrder(node.getLeft());
-		        findOrder(node.getRight());
-		        elementList.add(node.getElement());
-	        }
-	    }
+	    abstract BSTreeNode<E> advance();
 	    
 	    /**
 	     * Checks whether there are more elements to iterate over
@@ -368,7 +1085,7 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 	     */
 	    @Override
 	    public boolean hasNext() {
-	        return index < size();
+	        return !stack.isEmpty();
 	    }
 	    
 	    /**
@@ -376,15 +1093,159 @@ public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Se
 	     * 
 	     * @return the next element in the traversal order
 	     * @throws NoSuchElementException if there are no more elements to iterate.
+	     * @throws ConcurrentModificationException if the tree was modified since this
+	     *         iterator was created.
 	     */
 	    @Override
 	    public E next() throws NoSuchElementException {
+	        if (modCount != expectedModCount) {
+	            throw new ConcurrentModificationException();
+	        }
 	        if (!hasNext()) {
 	            throw new NoSuchElementException();
 	        }
-	        E next = elementList.get(index);
-	        index++;
-	        return next;
+	        return advance().getElement();
 	    }
 	}
+	
+	
+	/**
+	 * Traverser that visits the left subtree, then the node, then the right subtree.
+	 * It can be limited to the elements within a range.
+	 */
+	private class InorderTraverser extends Traverser {
+		E to;
+		
+		/**
+		 * Creates a new inorder traverser starting at the smallest element.
+		 * 
+		 * @param start the root of the tree to traverse
+		 */
+		public InorderTraverser(BSTreeNode<E> start) {
+			pushLeftPath(start);
+		}
+		
+		/**
+		 * Creates a new inorder traverser over the elements from one element up to,
+		 * but not including, another.
+		 * 
+		 * @param start the root of the tree to traverse
+		 * @param from the smallest element to visit, or null to start at the smallest
+		 *        element in the tree
+		 * @param to the element to stop at, or null to carry on to the largest element
+		 */
+		public InorderTraverser(BSTreeNode<E> start, E from, E to) {
+			this.to = to;
+			if (from == null) {
+				pushLeftPath(start);
+				return;
+			}
+			
+			// keeps the path to the first element not smaller than from, as if the
+			// traversal had already visited everything before it
+			BSTreeNode<E> CurrentNode = start;
+			while (CurrentNode != null) {
+				if (CurrentNode.getElement().compareTo(from) >= 0) {
+					stack.push(CurrentNode);
+					CurrentNode = CurrentNode.getLeft();
+				}
+				else {
+					CurrentNode = CurrentNode.getRight();
+				}
+			}
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return !stack.isEmpty() && (to == null || stack.peek().getElement().compareTo(to) < 0);
+		}
+		
+		/**
+		 * Pushes the given node and all of its left descendants onto the stack.
+		 * 
+		 * @param node the node to start from
+		 */
+		private void pushLeftPath(BSTreeNode<E> node) {
+			while (node != null) {
+				stack.push(node);
+				node = node.getLeft();
+			}
+		}
+		
+		@Override
+		BSTreeNode<E> advance() {
+			BSTreeNode<E> node = stack.pop();
+			pushLeftPath(node.getRight());
+			return node;
+		}
+	}
+	
+	
+	/**
+	 * Traverser that visits the node, then the left subtree, then the right subtree.
+	 */
+	private class PreorderTraverser extends Traverser {
+		
+		/**
+		 * Creates a new preorder traverser starting at the root.
+		 * 
+		 * @param start the root of the tree to traverse
+		 */
+		public PreorderTraverser(BSTreeNode<E> start) {
+			if (start != null) {
+				stack.push(start);
+			}
+		}
+		
+		@Override
+		BSTreeNode<E> advance() {
+			BSTreeNode<E> node = stack.pop();
+			if (node.getRight() != null) {
+				stack.push(node.getRight());
+			}
+			if (node.getLeft() != null) {
+				stack.push(node.getLeft());
+			}
+			return node;
+		}
+	}
+	
+	
+	/**
+	 * Traverser that visits the left subtree, then the right subtree, then the node.
+	 */
+	private class PostorderTraverser extends Traverser {
+		
+		/**
+		 * Creates a new postorder traverser starting at the first leaf.
+		 * 
+		 * @param start the root of the tree to traverse
+		 */
+		public PostorderTraverser(BSTreeNode<E> start) {
+			pushFirstLeafPath(start);
+		}
+		
+		/**
+		 * Pushes the path from the given node down to the first leaf visited in
+		 * postorder, preferring left children over right ones.
+		 * 
+		 * @param node the node to start from
+		 */
+		private void pushFirstLeafPath(BSTreeNode<E> node) {
+			while (node != null) {
+				stack.push(node);
+				node = node.getLeft() != null ? node.getLeft() : node.getRight();
+			}
+		}
+		
+		@Override
+		BSTreeNode<E> advance() {
+			BSTreeNode<E> node = stack.pop();
+			// coming up from a left child means the parent's right subtree is next
+			if (!stack.isEmpty() && stack.peek().getLeft() == node) {
+				pushFirstLeafPath(stack.peek().getRight());
+			}
+			return node;
+		}
+	}
 }
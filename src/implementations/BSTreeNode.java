@@ -1,12 +1,15 @@
 package implementations;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 
 /**
  * The BSTreeNode that store each individual element in the tree.
  * 
  * Each node contains an element of generic type E and maintains references
- * to its left child, right child, and parent node.
+ * to its left child, right child, and parent node, along with the cached
+ * height of the subtree rooted at it and the number of elements in that
+ * subtree.
  * 
  * @param <E> the type of element stored in this node
  * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
@@ -18,6 +21,8 @@ public class BSTreeNode<E> implements Serializable
 	
 	private E Element;
 	private BSTreeNode<E> left, right, parent;
+	private int height;
+	private int size;
 	
 	
 	/**
@@ -29,36 +34,27 @@ public class BSTreeNode<E> implements Serializable
 		Element = item;
 		left = null;
 		right = null;
+		height = 1;
+		size = 1;
 	}
 	
 	/**
-	 * Gets the height of the node
-	 * 
-	 * @param node the provided BSTreeNode
-	 * @return the height
-	 */
-	int height(BSTreeNode<E> node) {
-        if (node == null) {
-            return 0; 
-        } 
-        else {
-            int left = height(node.left);
-            int right = height(node.right);
-            return Math.max(left, right) + 1; //+1 to include the root 
-        }
-    }
-	
-	/**
-	 * Deletes itself and the nodes connected below it
+	 * Deletes itself and the nodes connected below it. Uses an explicit stack
+	 * rather than recursion so that very deep trees can be cleared.
 	 */
 	void clear() {
-		if (left != null) {
-			left.clear();			
+		ArrayDeque<BSTreeNode<E>> pending = new ArrayDeque<>();
+		pending.push(this);
+		while (!pending.isEmpty()) {
+			BSTreeNode<E> node = pending.pop();
+			if (node.left != null) {
+				pending.push(node.left);
+			}
+			if (node.right != null) {
+				pending.push(node.right);
+			}
+			node.delete();
 		}
-		if (right != null) {
-			right.clear();		
-		}
-		delete();
 	}
 	
 	/**
@@ -67,6 +63,7 @@ public class BSTreeNode<E> implements Serializable
 	void delete() {
 		left = null;
 		right = null;
+		parent = null;
 		Element = null;
 	}
 	
@@ -91,6 +88,22 @@ public class BSTreeNode<E> implements Serializable
 		left = new BSTreeNode<E>(Element);
 	}
 	
+	void setHeight(int height) {
+		this.height = height;
+	}
+	
+	int getHeight() {
+		return height;
+	}
+	
+	void setSize(int size) {
+		this.size = size;
+	}
+	
+	int getSize() {
+		return size;
+	}
+	
 	public void setParent(BSTreeNode<E> parent) {
 		this.parent = parent;
 	}
@@ -0,0 +1,145 @@
+package implementations;
+
+/**
+ * A self-balancing (AVL) variant of BSTree.java. Every insertion and removal
+ * walks back up the affected path, refreshing the cached node heights and
+ * rotating wherever the two subtrees of a node differ in height by more than
+ * one, so the height of the tree stays O(log n) no matter what order the
+ * elements arrive in.
+ *
+ * @param <E> the type of elements stored in this tree.
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class BalancedBSTree<E extends Comparable<? super E>> extends BSTree<E>
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor for an empty balanced BST
+	 */
+	public BalancedBSTree() {
+		super();
+	}
+
+	/**
+	 * Constructor for a balanced BST with a single element
+	 *
+	 * @param element the element to be stored as the root of the BST
+	 */
+	public BalancedBSTree(E element) {
+		super(element);
+	}
+
+
+	/**
+	 * Rebalances every ancestor of a newly inserted node.
+	 *
+	 * @param node the node that was just inserted
+	 */
+	@Override
+	void afterInsert(BSTreeNode<E> node) {
+		rebalance(node.getParent());
+	}
+
+
+	/**
+	 * Rebalances every ancestor of a node that was just unlinked.
+	 *
+	 * @param parent the former parent of the unlinked node
+	 */
+	@Override
+	void afterRemove(BSTreeNode<E> parent) {
+		rebalance(parent);
+	}
+
+
+	/**
+	 * Walks from the given node up to the root, updating heights and performing
+	 * the single or double rotation needed at any node that has become unbalanced.
+	 *
+	 * @param node the lowest node whose subtrees may have changed height
+	 */
+	private void rebalance(BSTreeNode<E> node) {
+		while (node != null) {
+			updateHeight(node);
+			int balance = balanceOf(node);
+
+			if (balance > 1) {
+				if (balanceOf(node.getLeft()) < 0) {
+					rotateLeft(node.getLeft());
+				}
+				node = rotateRight(node);
+			}
+			else if (balance < -1) {
+				if (balanceOf(node.getRight()) > 0) {
+					rotateRight(node.getRight());
+				}
+				node = rotateLeft(node);
+			}
+			node = node.getParent();
+		}
+	}
+
+
+	/**
+	 * Rotates the subtree rooted at the given node to the left, promoting its
+	 * right child.
+	 *
+	 * @param node the root of the subtree to rotate
+	 * @return the new root of the subtree
+	 */
+	private BSTreeNode<E> rotateLeft(BSTreeNode<E> node) {
+		BSTreeNode<E> pivot = node.getRight();
+
+		node.setRight(pivot.getLeft());
+		if (pivot.getLeft() != null) {
+			pivot.getLeft().setParent(node);
+		}
+
+		replaceChild(node.getParent(), node, pivot);
+		pivot.setLeft(node);
+		node.setParent(pivot);
+
+		updateHeight(node);
+		updateHeight(pivot);
+		return pivot;
+	}
+
+
+	/**
+	 * Rotates the subtree rooted at the given node to the right, promoting its
+	 * left child.
+	 *
+	 * @param node the root of the subtree to rotate
+	 * @return the new root of the subtree
+	 */
+	private BSTreeNode<E> rotateRight(BSTreeNode<E> node) {
+		BSTreeNode<E> pivot = node.getLeft();
+
+		node.setLeft(pivot.getRight());
+		if (pivot.getRight() != null) {
+			pivot.getRight().setParent(node);
+		}
+
+		replaceChild(node.getParent(), node, pivot);
+		pivot.setRight(node);
+		node.setParent(pivot);
+
+		updateHeight(node);
+		updateHeight(pivot);
+		return pivot;
+	}
+
+
+	/**
+	 * Returns the difference between the heights of the left and right subtrees.
+	 *
+	 * @param node the node to inspect
+	 * @return positive when left-heavy, negative when right-heavy
+	 */
+	private int balanceOf(BSTreeNode<E> node) {
+		return heightOf(node.getLeft()) - heightOf(node.getRight());
+	}
+}
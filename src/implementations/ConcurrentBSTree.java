@@ -0,0 +1,577 @@
+package implementations;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * A thread-safe, balanced (AVL) variant of BSTree.java that any number of
+ * threads can read and modify at the same time without a lock.
+ *
+ * Nodes are never changed once they are part of the tree. A modification
+ * copies the path from the root down to the node it changes, rebalancing the
+ * copies on the way back up, and then publishes the new root with a single
+ * compare-and-set. If another thread published a version first, the
+ * modification is simply retried against that version. Readers only ever
+ * follow references from whichever root they read, so lookups and traversals
+ * never wait, never retry, and see one consistent version of the tree from
+ * start to finish; an iterator keeps walking the version it started on while
+ * newer ones are published. For the same reason a snapshot of the whole tree
+ * costs O(1): it is simply another tree starting from the same root.
+ *
+ * Only the structure of the tree is protected this way. For a snapshot to be
+ * consistent the elements must not change either, so an element that others
+ * may be reading should be replaced by a changed copy with replace, rather
+ * than changed in place.
+ *
+ * Since nodes are shared between versions, they do not link to their parents,
+ * and getParent returns null for every node of this tree.
+ *
+ * @param <E> the type of elements stored in this tree.
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class ConcurrentBSTree<E extends Comparable<? super E>> extends BSTree<E>
+{
+
+	private static final long serialVersionUID = 1L;
+
+	private final AtomicReference<Version<E>> version;
+
+	/**
+	 * Constructor for an empty concurrent BST
+	 */
+	public ConcurrentBSTree() {
+		super();
+		version = new AtomicReference<Version<E>>(new Version<E>(null, 0));
+	}
+
+	/**
+	 * Constructor for a concurrent BST holding the same elements as another tree.
+	 * The copy is built from the other tree's inorder traversal in O(n), so it is
+	 * balanced whatever shape the other tree has, and the other tree can go on
+	 * being used afterwards.
+	 *
+	 * @param other the tree to copy, which must not be modified during the copy
+	 */
+	public ConcurrentBSTree(BSTree<E> other) {
+		this();
+		rebuild(other.inorderIterator(), other.size());
+	}
+
+
+	/**
+	 * Constructor for a concurrent BST starting from a version of another one.
+	 *
+	 * @param start the version to start from
+	 */
+	private ConcurrentBSTree(Version<E> start) {
+		this();
+		version.set(start);
+	}
+
+
+	/**
+	 * Takes a snapshot of this tree in O(1), without copying any nodes or
+	 * blocking any writers. The snapshot holds exactly the elements this tree
+	 * holds now; changes made to either tree afterwards are not seen by the
+	 * other.
+	 *
+	 * @return a new tree holding the current elements of this tree
+	 */
+	public ConcurrentBSTree<E> snapshot() {
+		return new ConcurrentBSTree<E>(version.get());
+	}
+
+
+	/**
+	 * Returns the number of elements in the latest version of this tree.
+	 *
+	 * @return the number of elements in the tree
+	 */
+	@Override
+	public int size() {
+		return version.get().size;
+	}
+
+
+	/**
+	 * Checks if the latest version of this tree is empty.
+	 *
+	 * @return true if empty, false if not empty.
+	 */
+	@Override
+	public boolean isEmpty() {
+		return version.get().root == null;
+	}
+
+
+	/**
+	 * Removes all elements from this tree. Iterators that are already walking
+	 * the tree carry on over the elements it held when they started.
+	 */
+	@Override
+	public void clear() {
+		version.set(new Version<E>(null, 0));
+	}
+
+
+	/**
+	 * Checks for if the tree contains the specified element.
+	 *
+	 * @param entry the element to search for in the tree
+	 * @return true if the element is found in the tree, false if not.
+	 * @throws NullPointerException if the specified entry is null.
+	 */
+	@Override
+	public boolean contains(E entry) throws NullPointerException {
+		return search(entry) != null;
+	}
+
+
+	/**
+	 * Searches for the specified element in the latest version of this tree.
+	 *
+	 * @param entry the element to search for
+	 * @return the node containing the specified element
+	 * @throws NullPointerException if the specified entry is null.
+	 */
+	@Override
+	public BSTreeNode<E> search(E entry) throws NullPointerException {
+		if (entry == null) {
+			throw new NullPointerException();
+		}
+		return find(version.get().root, entry);
+	}
+
+
+	/**
+	 * Adds a new element to this BST. As in BSTree, an element equal to one
+	 * already in the tree is added to the right of it.
+	 *
+	 * @param newEntry the element to be added
+	 * @return true if the element was successfully added
+	 * @throws NullPointerException if the provided entry is null
+	 */
+	@Override
+	public boolean add(E newEntry) throws NullPointerException {
+		if (newEntry == null) {
+			throw new NullPointerException();
+		}
+
+		while (true) {
+			Version<E> current = version.get();
+			Version<E> next = new Version<E>(insert(current.root, newEntry), current.size + 1);
+			if (version.compareAndSet(current, next)) {
+				return true;
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the node holding the element equal to the given key, creating and
+	 * adding one if there is none. When several threads add the same key at once,
+	 * exactly one element is added and every thread gets the node holding it.
+	 *
+	 * @param key the element to look for
+	 * @param factory creates the element to add from the key when none is found
+	 * @return the node containing the existing or newly added element
+	 * @throws NullPointerException if the key, or the element created for it, is null
+	 */
+	@Override
+	public BSTreeNode<E> computeIfAbsent(E key, Function<? super E, ? extends E> factory) throws NullPointerException {
+		if (key == null) {
+			throw new NullPointerException();
+		}
+
+		E newEntry = null;
+		while (true) {
+			Version<E> current = version.get();
+			BSTreeNode<E> existing = find(current.root, key);
+			if (existing != null) {
+				return existing;
+			}
+
+			if (newEntry == null) {
+				newEntry = factory.apply(key);
+				if (newEntry == null) {
+					throw new NullPointerException();
+				}
+			}
+			BSTreeNode<E> Root = insert(current.root, newEntry);
+			if (version.compareAndSet(current, new Version<E>(Root, current.size + 1))) {
+				return find(Root, key);
+			}
+		}
+	}
+
+
+	/**
+	 * Replaces the element equal to a new one, but only if it is still the one
+	 * the caller expects, so that no other thread's change is lost. This is how
+	 * an element is changed without changing it in place: the caller reads the
+	 * element, builds a changed copy, and retries if replace returns false.
+	 *
+	 * @param expected the element expected to be in the tree, compared by
+	 *        identity, or null if no equal element is expected
+	 * @param newElement the element to store in its place, or to add
+	 * @return true if the element was replaced or added, false if the tree held
+	 *         a different element than expected
+	 * @throws NullPointerException if the new element is null
+	 */
+	public boolean replace(E expected, E newElement) throws NullPointerException {
+		if (newElement == null) {
+			throw new NullPointerException();
+		}
+
+		while (true) {
+			Version<E> current = version.get();
+			BSTreeNode<E> existing = find(current.root, newElement);
+			if ((existing == null ? null : existing.getElement()) != expected) {
+				return false;
+			}
+
+			Version<E> next = existing == null
+					? new Version<E>(insert(current.root, newElement), current.size + 1)
+					: new Version<E>(substitute(current.root, newElement), current.size);
+			if (version.compareAndSet(current, next)) {
+				return true;
+			}
+		}
+	}
+
+
+	/**
+	 * Combines the elements of another tree with the elements of this one in
+	 * O(n + m) and publishes the result as one new version, so readers see
+	 * either none or all of the other tree's elements. If another thread
+	 * publishes a version first, the merge is redone against that version, so
+	 * combine may be called more than once for the same pair of elements and
+	 * should do nothing but return the element to keep.
+	 *
+	 * @param other the tree whose elements to add, which must not be modified
+	 *        during the merge
+	 * @param combine given an element of this tree and the equal element of the
+	 *        other tree, returns the element to keep in their place
+	 * @throws NullPointerException if combine returns null
+	 */
+	@Override
+	public void merge(BSTree<E> other, BinaryOperator<E> combine) throws NullPointerException {
+		while (true) {
+			Version<E> current = version.get();
+			List<E> merged = zip(new ConcurrentBSTree<E>(current).inorderIterator(), other.inorderIterator(), combine);
+			Version<E> next = new Version<E>(build(elements(merged), merged.size()), merged.size());
+			if (version.compareAndSet(current, next)) {
+				return;
+			}
+		}
+	}
+
+
+	/**
+	 * Removes the node containing the minimum element in this tree.
+	 *
+	 * @return a new node containing the minimum element, or null if the tree is
+	 *         empty.
+	 */
+	@Override
+	public BSTreeNode<E> removeMin() {
+		while (true) {
+			Version<E> current = version.get();
+			if (current.root == null) {
+				return null;
+			}
+
+			BSTreeNode<E> SmallestNode = current.root;
+			while (SmallestNode.getLeft() != null) {
+				SmallestNode = SmallestNode.getLeft();
+			}
+			Version<E> next = new Version<E>(withoutMin(current.root), current.size - 1);
+			if (version.compareAndSet(current, next)) {
+				return new BSTreeNode<E>(SmallestNode.getElement());
+			}
+		}
+	}
+
+
+	/**
+	 * Removes the node containing the maximum element in this tree.
+	 *
+	 * @return a new node containing the maximum element, or null if the tree is
+	 *         empty.
+	 */
+	@Override
+	public BSTreeNode<E> removeMax() {
+		while (true) {
+			Version<E> current = version.get();
+			if (current.root == null) {
+				return null;
+			}
+
+			BSTreeNode<E> LargestNode = current.root;
+			while (LargestNode.getRight() != null) {
+				LargestNode = LargestNode.getRight();
+			}
+			Version<E> next = new Version<E>(withoutMax(current.root), current.size - 1);
+			if (version.compareAndSet(current, next)) {
+				return new BSTreeNode<E>(LargestNode.getElement());
+			}
+		}
+	}
+
+
+	/**
+	 * Removes the specified element from this tree.
+	 *
+	 * @param entry the element to remove
+	 * @return a new node containing the element removed, or null if the element
+	 *         is not in the tree
+	 * @throws NullPointerException if the specified entry is null.
+	 */
+	@Override
+	public BSTreeNode<E> remove(E entry) throws NullPointerException {
+		if (entry == null) {
+			throw new NullPointerException();
+		}
+
+		while (true) {
+			Version<E> current = version.get();
+			BSTreeNode<E> Node = find(current.root, entry);
+			if (Node == null) {
+				return null;
+			}
+			Version<E> next = new Version<E>(without(current.root, entry), current.size - 1);
+			if (version.compareAndSet(current, next)) {
+				return new BSTreeNode<E>(Node.getElement());
+			}
+		}
+	}
+
+
+	@Override
+	BSTreeNode<E> currentRoot() {
+		return version.get().root;
+	}
+
+
+	/**
+	 * Publishes the given subtree as the latest version of this tree, replacing
+	 * whatever was published before.
+	 *
+	 * @param newRoot the new root, or null for an empty tree
+	 * @param newSize the number of elements below the new root
+	 */
+	@Override
+	void replaceRoot(BSTreeNode<E> newRoot, int newSize) {
+		version.set(new Version<E>(newRoot, newSize));
+	}
+
+
+	/**
+	 * Searches one version of the tree.
+	 *
+	 * @param Root the root of the version to search
+	 * @param entry the element to search for
+	 * @return the node containing the element, or null if there is none
+	 */
+	private BSTreeNode<E> find(BSTreeNode<E> Root, E entry) {
+		BSTreeNode<E> CurrentNode = Root;
+		int steps = 0;
+		while (CurrentNode != null) {
+			steps++;
+			int comparison = CurrentNode.getElement().compareTo(entry);
+			if (comparison < 0) {
+				CurrentNode = CurrentNode.getRight();
+			}
+			else if (comparison > 0) {
+				CurrentNode = CurrentNode.getLeft();
+			}
+			else {
+				break;
+			}
+		}
+		countLookup(steps);
+		return CurrentNode;
+	}
+
+
+	/**
+	 * Returns a copy of a subtree with an element added, sharing every node that
+	 * is not on the path to the new one.
+	 *
+	 * @param node the root of the subtree
+	 * @param newEntry the element to add
+	 * @return the root of the new subtree
+	 */
+	private BSTreeNode<E> insert(BSTreeNode<E> node, E newEntry) {
+		if (node == null) {
+			return node(newEntry, null, null);
+		}
+		// equal elements go to the right
+		if (node.getElement().compareTo(newEntry) > 0) {
+			return balance(node.getElement(), insert(node.getLeft(), newEntry), node.getRight());
+		}
+		return balance(node.getElement(), node.getLeft(), insert(node.getRight(), newEntry));
+	}
+
+
+	/**
+	 * Returns a copy of a subtree with the element equal to a new one replaced by
+	 * it, sharing every node that is not on the path to it. The subtree must hold
+	 * an equal element.
+	 *
+	 * @param node the root of the subtree
+	 * @param newElement the element to store
+	 * @return the root of the new subtree
+	 */
+	private BSTreeNode<E> substitute(BSTreeNode<E> node, E newElement) {
+		int comparison = node.getElement().compareTo(newElement);
+		if (comparison > 0) {
+			return node(node.getElement(), substitute(node.getLeft(), newElement), node.getRight());
+		}
+		if (comparison < 0) {
+			return node(node.getElement(), node.getLeft(), substitute(node.getRight(), newElement));
+		}
+		return node(newElement, node.getLeft(), node.getRight());
+	}
+
+
+	/**
+	 * Copies the path to an element, leaving the element out and rebalancing
+	 * the copies. A node with two children is replaced by a copy holding the
+	 * element that follows it in inorder.
+	 *
+	 * @param node the root of the subtree, which must hold the element
+	 * @param entry the element to leave out
+	 * @return the root of the subtree without the element
+	 */
+	private BSTreeNode<E> without(BSTreeNode<E> node, E entry) {
+		int comparison = node.getElement().compareTo(entry);
+		if (comparison > 0) {
+			return balance(node.getElement(), without(node.getLeft(), entry), node.getRight());
+		}
+		if (comparison < 0) {
+			return balance(node.getElement(), node.getLeft(), without(node.getRight(), entry));
+		}
+		if (node.getLeft() == null) {
+			return node.getRight();
+		}
+		if (node.getRight() == null) {
+			return node.getLeft();
+		}
+
+		BSTreeNode<E> Successor = node.getRight();
+		while (Successor.getLeft() != null) {
+			Successor = Successor.getLeft();
+		}
+		return balance(Successor.getElement(), node.getLeft(), withoutMin(node.getRight()));
+	}
+
+
+	/**
+	 * Returns a copy of a non-empty subtree without its minimum element.
+	 *
+	 * @param node the root of the subtree
+	 * @return the root of the new subtree
+	 */
+	private BSTreeNode<E> withoutMin(BSTreeNode<E> node) {
+		if (node.getLeft() == null) {
+			return node.getRight();
+		}
+		return balance(node.getElement(), withoutMin(node.getLeft()), node.getRight());
+	}
+
+
+	/**
+	 * Returns a copy of a non-empty subtree without its maximum element.
+	 *
+	 * @param node the root of the subtree
+	 * @return the root of the new subtree
+	 */
+	private BSTreeNode<E> withoutMax(BSTreeNode<E> node) {
+		if (node.getRight() == null) {
+			return node.getLeft();
+		}
+		return balance(node.getElement(), node.getLeft(), withoutMax(node.getRight()));
+	}
+
+
+	/**
+	 * Creates a node joining an element and two subtrees whose heights differ by
+	 * at most two, rotating the new nodes so that the heights of the subtrees of
+	 * every new node differ by at most one.
+	 *
+	 * @param element the element that goes between the two subtrees
+	 * @param left the subtree of smaller elements
+	 * @param right the subtree of larger elements
+	 * @return the root of the balanced subtree
+	 */
+	private BSTreeNode<E> balance(E element, BSTreeNode<E> left, BSTreeNode<E> right) {
+		if (heightOf(left) > heightOf(right) + 1) {
+			if (heightOf(left.getLeft()) >= heightOf(left.getRight())) {
+				return node(left.getElement(), left.getLeft(), node(element, left.getRight(), right));
+			}
+			BSTreeNode<E> Middle = left.getRight();
+			return node(Middle.getElement(), node(left.getElement(), left.getLeft(), Middle.getLeft()),
+					node(element, Middle.getRight(), right));
+		}
+		if (heightOf(right) > heightOf(left) + 1) {
+			if (heightOf(right.getRight()) >= heightOf(right.getLeft())) {
+				return node(right.getElement(), node(element, left, right.getLeft()), right.getRight());
+			}
+			BSTreeNode<E> Middle = right.getLeft();
+			return node(Middle.getElement(), node(element, left, Middle.getLeft()),
+					node(right.getElement(), Middle.getRight(), right.getRight()));
+		}
+		return node(element, left, right);
+	}
+
+
+	/**
+	 * Creates a node with the given children and works out its height. The
+	 * children may be shared with other versions, so they are not linked back to
+	 * the new node.
+	 *
+	 * @param element the element to store
+	 * @param left the left child
+	 * @param right the right child
+	 * @return the new node
+	 */
+	@Override
+	BSTreeNode<E> node(E element, BSTreeNode<E> left, BSTreeNode<E> right) {
+		BSTreeNode<E> NewNode = new BSTreeNode<E>(element);
+		NewNode.setLeft(left);
+		NewNode.setRight(right);
+		updateHeight(NewNode);
+		return NewNode;
+	}
+
+
+	/**
+	 * One version of the tree: its root together with the number of elements
+	 * below it, so that both are always published and read together.
+	 *
+	 * @param <E> the type of elements stored in the tree
+	 */
+	private static final class Version<E> implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		final BSTreeNode<E> root;
+		final int size;
+
+		/**
+		 * Constructor for Version
+		 *
+		 * @param root the root node, or null for an empty tree
+		 * @param size the number of elements in the tree
+		 */
+		Version(BSTreeNode<E> root, int size) {
+			this.root = root;
+			this.size = size;
+		}
+	}
+}
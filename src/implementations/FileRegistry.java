@@ -0,0 +1,174 @@
+package implementations;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 
+ * Hands out small integer ids for the files tracked in a repository, so that
+ * each WordData can refer to a file by its id instead of holding its own copy
+ * of the file's path.
+ * 
+ * Ids are assigned in registration order starting from 0 and never change.
+ * Files are usually registered in order of their paths, in which case the ids
+ * already list the files by name; otherwise the position of each file in name
+ * order is worked out once and kept until another file is registered.
+ * 
+ * Files are registered under the registry's lock, but looking files up never
+ * locks, so any number of threads can read the registry while another
+ * registers files.
+ * 
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ * 
+ */
+public class FileRegistry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<String> fileNames;
+    private transient Map<String, Integer> fileIds;
+    private transient volatile String[] names;
+    private transient volatile int count;
+    private transient volatile boolean inNameOrder;
+    private transient volatile int[] nameRanks;
+
+    /**
+     * FileRegistry constructor
+     * creates an empty registry
+     */
+    public FileRegistry() {
+        this.fileNames = new ArrayList<>();
+        this.fileIds = new ConcurrentHashMap<>();
+        this.names = new String[16];
+        this.count = 0;
+        this.inNameOrder = true;
+    }
+
+    /**
+     * Returns the id of a file, registering it first if it has not been seen.
+     * @param fileName The path of the file.
+     * @return The id of the file.
+     */
+    public int register(String fileName) {
+        Integer id = fileIds.get(fileName);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (this) {
+            id = fileIds.get(fileName);
+            if (id == null) {
+                id = count;
+                if (id > 0 && fileName.compareTo(names[id - 1]) < 0) {
+                    inNameOrder = false;
+                }
+                fileNames.add(fileName);
+                if (id == names.length) {
+                    names = Arrays.copyOf(names, id * 2);
+                }
+                names[id] = fileName;
+                // publishing the count makes the name visible to readers
+                count = id + 1;
+                nameRanks = null;
+                fileIds.put(fileName, id);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Looks up the id of a file without registering it.
+     * @param fileName The path of the file.
+     * @return The id of the file, or -1 if it has not been registered.
+     */
+    public int getId(String fileName) {
+        Integer id = fileIds.get(fileName);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Getter for the path of a registered file.
+     * @param id The id of the file.
+     * @return The path of the file.
+     */
+    public String getName(int id) {
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("Index: " + id + ", Size: " + count);
+        }
+        return names[id];
+    }
+
+    /**
+     * Checks whether the ids list the files in order of their paths.
+     * @return true if a smaller id always belongs to a smaller path.
+     */
+    public boolean isInNameOrder() {
+        return inNameOrder;
+    }
+
+    /**
+     * Getter for the position of a file when every registered file is sorted by
+     * path.
+     * @param id The id of the file.
+     * @return The number of registered files whose paths sort before this one.
+     */
+    public int getNameRank(int id) {
+        if (inNameOrder) {
+            return id;
+        }
+        // the count is read before the names: register stores a name before
+        // publishing the count, so the array read next holds at least that many
+        int size = count;
+        int[] ranks = nameRanks;
+        if (ranks == null || ranks.length != size) {
+            String[] sortedNames = names;
+            Integer[] byName = new Integer[size];
+            for (int i = 0; i < byName.length; i++) {
+                byName[i] = i;
+            }
+            Arrays.sort(byName, (a, b) -> sortedNames[a].compareTo(sortedNames[b]));
+
+            ranks = new int[byName.length];
+            for (int rank = 0; rank < byName.length; rank++) {
+                ranks[byName[rank]] = rank;
+            }
+            nameRanks = ranks;
+        }
+        return ranks[id];
+    }
+
+    /**
+     * Getter for the number of registered files.
+     * @return The number of files.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Restores the registry from a stream and rebuilds the path to id lookup.
+     * @param in The stream to read from.
+     * @throws IOException if the stream cannot be read.
+     * @throws ClassNotFoundException if a class in the stream cannot be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        fileIds = new ConcurrentHashMap<>();
+        names = fileNames.toArray(new String[Math.max(16, fileNames.size())]);
+        count = fileNames.size();
+        inNameOrder = true;
+        for (int id = 0; id < count; id++) {
+            fileIds.put(names[id], id);
+            if (id > 0 && names[id].compareTo(names[id - 1]) < 0) {
+                inNameOrder = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package implementations;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A sorted set of line numbers stored in a growable int array.
+ *
+ * Line numbers usually arrive in increasing order while a file is parsed, so
+ * adding one is normally a comparison against the last entry followed by an
+ * append, which makes dropping duplicates O(1). A line number that arrives out
+ * of order is placed with a binary search instead. Storing primitive ints
+ * avoids boxing every line number into its own Integer object.
+ *
+ * A list can be frozen so that it can be shared by several copies of a
+ * WordData. A frozen list never changes again, and a WordData that needs to
+ * add to one makes its own copy first.
+ *
+ * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
+ * @version 1.0 Oct. 18, 2026
+ */
+public class LineList implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient int[] lines;
+    private transient int size;
+    private transient boolean frozen;
+
+    /**
+     * LineList constructor
+     * creates an empty list of line numbers
+     */
+    public LineList() {
+        this.lines = new int[4];
+        this.size = 0;
+    }
+
+    /**
+     * Adds a line number to the list unless it is already present.
+     * @param lineNumber The line number to add.
+     * @return true if the line number was added, false if it was already present.
+     * @throws IllegalStateException if the list is frozen.
+     */
+    public boolean add(int lineNumber) {
+        if (frozen) {
+            throw new IllegalStateException("Line list is frozen");
+        }
+        if (size == 0 || lines[size - 1] < lineNumber) {
+            ensureCapacity(size + 1);
+            lines[size++] = lineNumber;
+            return true;
+        }
+        if (lines[size - 1] == lineNumber) {
+            return false;
+        }
+
+        int index = Arrays.binarySearch(lines, 0, size, lineNumber);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+
+        ensureCapacity(size + 1);
+        System.arraycopy(lines, index, lines, index + 1, size - index);
+        lines[index] = lineNumber;
+        size++;
+        return true;
+    }
+
+    /**
+     * Adds every line number of another list to this one.
+     * @param other The list to take the line numbers from.
+     */
+    public void addAll(LineList other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.lines[i]);
+        }
+    }
+
+    /**
+     * Getter for the number of line numbers in the list.
+     * @return The number of line numbers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Getter for a line number by its position in the list.
+     * @param index The position, from 0 for the smallest line number.
+     * @return The line number at that position.
+     * @throws IndexOutOfBoundsException if the index is not within the list.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return lines[index];
+    }
+
+    /**
+     * Checks whether a line number is in the list.
+     * @param lineNumber The line number to look for.
+     * @return true if the line number is present.
+     */
+    public boolean contains(int lineNumber) {
+        return Arrays.binarySearch(lines, 0, size, lineNumber) >= 0;
+    }
+
+    /**
+     * Copies the line numbers into a new array.
+     * @return The line numbers in increasing order.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(lines, size);
+    }
+
+    /**
+     * Stops the list from ever changing again, so that it can be shared.
+     */
+    void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Checks whether the list has been frozen.
+     * @return true if the list can no longer be changed.
+     */
+    boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Copies the list into a new list that can be changed.
+     * @return The copy, which is not frozen.
+     */
+    LineList copy() {
+        LineList copy = new LineList();
+        copy.lines = Arrays.copyOf(lines, Math.max(size + 1, 4));
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Grows the backing array if it cannot hold the given number of line numbers.
+     * @param capacity The number of line numbers the array must be able to hold.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > lines.length) {
+            lines = Arrays.copyOf(lines, Math.max(capacity, lines.length * 2));
+        }
+    }
+
+    /**
+     * Writes only the used part of the backing array.
+     * @param out The stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(lines[i]);
+        }
+    }
+
+    /**
+     * Reads the line numbers written by writeObject.
+     * @param in The stream to read from.
+     * @throws IOException if the stream cannot be read.
+     * @throws ClassNotFoundException if a class in the stream cannot be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        size = in.readInt();
+        lines = new int[Math.max(size, 4)];
+        for (int i = 0; i < size; i++) {
+            lines[i] = in.readInt();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package implementations;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -11,16 +14,44 @@ import java.util.Map;
  * Represents a single unique word and all the files and line numbers
  * where it appears.
  * 
+ * Files are identified by the ids handed out by a FileRegistry. The ids and
+ * their line lists are kept in two parallel arrays ordered by id, which is far
+ * lighter than a map entry and a path reference per file.
+ * 
+ * A WordData is not thread-safe, and takes no locks. It is changed only by the
+ * thread that creates it, until it is published where other threads can read
+ * it, such as in a ConcurrentBSTree; from then on it is never changed again.
+ * A word that gains or loses occurrences is instead replaced by a changed
+ * copy. Copying shares the line lists, freezing them, and each copy only makes
+ * its own copy of a list once it adds to it, so a copy costs one pointer per
+ * file rather than one int per occurrence.
+ * 
  * @author Nathanael Lee, James Baes, Tony Do, Eian Verastigue
- * @version 1.1 Dec. 12, 2025
+ * @version 1.2 Oct. 18, 2026
  * 
  */
 public class WordData implements Comparable<WordData>, Serializable {
 
     private static final long serialVersionUID = 1L;
+    private static final int[] NO_FILES = new int[0];
+    private static final LineList[] NO_LINES = new LineList[0];
+
+    /**
+     * The fields of the serialized form. Before files had ids, WordData kept a
+     * map of file paths to line numbers in a field named fileLines, which is
+     * still declared so that repositories written then can be read. The
+     * current form leaves it null and writes the files after the fields.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("word", String.class),
+        new ObjectStreamField("fileLines", Map.class)
+    };
 
     private String word;
-    private Map<String, List<Integer>> fileLines;
+    private transient int[] fileIds;
+    private transient LineList[] fileLines;
+    private transient int fileCount;
+    private transient Map<?, ?> legacyLines;
     
     
     /**
@@ -30,7 +61,9 @@ public class WordData implements Comparable<WordData>, Serializable {
      */
     public WordData(String word) {
         this.word = word;
-        this.fileLines = new HashMap<>();
+        this.fileIds = NO_FILES;
+        this.fileLines = NO_LINES;
+        this.fileCount = 0;
     }
      
     /**
@@ -43,29 +76,269 @@ public class WordData implements Comparable<WordData>, Serializable {
     
     /**
      * Records a new occurrence of the word at a specific line number within a file
-     * @param fileName The name of the file where the word was found.
+     * @param fileId The registry id of the file where the word was found.
      * @param lineNumber The line number within the file where the word was found.
+     * @return true if the occurrence was new, false if it was already recorded.
+     */
+    public boolean addOccurrence(int fileId, int lineNumber) {
+        // duplicates are dropped by the LineList itself
+        return linesFor(fileId).add(lineNumber);
+    }
+
+    /**
+     * Adds all the occurrences recorded by another WordData for the same word to
+     * this one, skipping line numbers that are already recorded. The other
+     * WordData must not be modified while it is merged.
+     * @param other The WordData to take the occurrences from.
+     */
+    public void merge(WordData other) {
+        for (int i = 0; i < other.fileCount; i++) {
+            linesFor(other.fileIds[i]).addAll(other.fileLines[i]);
+        }
+    }
+
+    /**
+     * Finds the occurrences recorded by another WordData for the same word that
+     * this one has not recorded, without changing either of them. The other
+     * WordData must not be modified while it is compared.
+     * @param other The WordData to take the occurrences from.
+     * @return A new WordData holding just those occurrences, or null if there
+     *         are none.
+     */
+    public WordData newOccurrences(WordData other) {
+        WordData added = null;
+        for (int i = 0; i < other.fileCount; i++) {
+            int index = Arrays.binarySearch(fileIds, 0, fileCount, other.fileIds[i]);
+            LineList lines = other.fileLines[i];
+            for (int j = 0; j < lines.size(); j++) {
+                if (index < 0 || !fileLines[index].contains(lines.get(j))) {
+                    if (added == null) {
+                        added = new WordData(word);
+                    }
+                    added.addOccurrence(other.fileIds[i], lines.get(j));
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Checks whether this WordData has recorded every occurrence that another
+     * WordData for the same word has in one file. The other WordData must not be
+     * modified while it is compared.
+     * @param other The WordData whose occurrences to look for.
+     * @param fileId The registry id of the file to compare.
+     * @return true if none of the other WordData's lines in the file are missing.
      */
-    public void addOccurrence(String fileName, int lineNumber) {
-    	
-    	List<Integer> lines = fileLines.get(fileName);
+    public boolean hasOccurrences(WordData other, int fileId) {
+        int otherIndex = Arrays.binarySearch(other.fileIds, 0, other.fileCount, fileId);
+        if (otherIndex < 0) {
+            return true;
+        }
+        int index = Arrays.binarySearch(fileIds, 0, fileCount, fileId);
+        if (index < 0) {
+            return false;
+        }
+        LineList lines = other.fileLines[otherIndex];
+        for (int j = 0; j < lines.size(); j++) {
+            if (!fileLines[index].contains(lines.get(j))) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        if (lines == null) {
-            lines = new ArrayList<>();
-            fileLines.put(fileName, lines);
+    /**
+     * Creates a copy of this WordData that can be changed without changing this
+     * one. The line lists are shared and frozen until either WordData adds to
+     * them.
+     * @return The copy.
+     */
+    public WordData copy() {
+        WordData copy = new WordData(word);
+        if (fileCount > 0) {
+            copy.fileIds = Arrays.copyOf(fileIds, fileCount);
+            copy.fileLines = Arrays.copyOf(fileLines, fileCount);
+            copy.fileCount = fileCount;
+            for (int i = 0; i < fileCount; i++) {
+                fileLines[i].freeze();
+            }
         }
-        
-        if (!lines.contains(lineNumber)) { 
-            lines.add(lineNumber);
+        return copy;
+    }
+
+    /**
+     * Creates a copy of this WordData without its occurrences in one file,
+     * leaving this one unchanged. The line lists of the other files are shared
+     * as they are by copy.
+     * @param fileId The registry id of the file to leave out.
+     * @return The copy, which has no files left if the word only appeared in
+     *         that one, or this WordData itself if it does not appear in it.
+     */
+    public WordData withoutFile(int fileId) {
+        int index = Arrays.binarySearch(fileIds, 0, fileCount, fileId);
+        if (index < 0) {
+            return this;
         }
+        WordData copy = copy();
+        int moved = copy.fileCount - index - 1;
+        System.arraycopy(copy.fileIds, index + 1, copy.fileIds, index, moved);
+        System.arraycopy(copy.fileLines, index + 1, copy.fileLines, index, moved);
+        copy.fileLines[--copy.fileCount] = null;
+        return copy;
     }
 
     /**
-     * Retrieves the map containing all file and line number occurrences.
-     * @return A map where keys = file names, value = list of unique line numbers.
+     * Getter for the number of files the word appears in.
+     * @return The number of files.
      */
-    public Map<String, List<Integer>> getFileLines() {
-        return fileLines;
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    /**
+     * Getter for the id of one of the files the word appears in. Files are
+     * ordered by increasing id.
+     * @param index The position of the file, from 0 to getFileCount() - 1.
+     * @return The registry id of the file.
+     */
+    public int getFileId(int index) {
+        if (index < 0 || index >= fileCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + fileCount);
+        }
+        return fileIds[index];
+    }
+
+    /**
+     * Getter for the line numbers in one of the files the word appears in.
+     * @param index The position of the file, from 0 to getFileCount() - 1.
+     * @return The sorted list of unique line numbers.
+     */
+    public LineList getLines(int index) {
+        if (index < 0 || index >= fileCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + fileCount);
+        }
+        return fileLines[index];
+    }
+
+    /**
+     * Finds the line list for a file, adding an empty one if the word has not been
+     * seen in that file yet.
+     * @param fileId The registry id of the file.
+     * @return The line list for the file.
+     */
+    private LineList linesFor(int fileId) {
+        // occurrences nearly always belong to the file added most recently
+        if (fileCount > 0 && fileIds[fileCount - 1] == fileId) {
+            return writableLines(fileCount - 1);
+        }
+
+        int index = Arrays.binarySearch(fileIds, 0, fileCount, fileId);
+        if (index >= 0) {
+            return writableLines(index);
+        }
+        index = -index - 1;
+
+        if (fileCount == fileIds.length) {
+            int capacity = Math.max(1, fileCount * 2);
+            fileIds = Arrays.copyOf(fileIds, capacity);
+            fileLines = Arrays.copyOf(fileLines, capacity);
+        }
+        System.arraycopy(fileIds, index, fileIds, index + 1, fileCount - index);
+        System.arraycopy(fileLines, index, fileLines, index + 1, fileCount - index);
+        fileIds[index] = fileId;
+        fileLines[index] = new LineList();
+        fileCount++;
+        return fileLines[index];
+    }
+
+    /**
+     * Returns the line list at a position, first replacing it with a copy of its
+     * own if it is frozen and shared with another WordData.
+     * @param index The position of the file.
+     * @return A line list that can be added to.
+     */
+    private LineList writableLines(int index) {
+        LineList lines = fileLines[index];
+        if (lines.isFrozen()) {
+            lines = lines.copy();
+            fileLines[index] = lines;
+        }
+        return lines;
+    }
+
+    /**
+     * Records the occurrences of a WordData read from a repository written
+     * before files had ids, registering the paths it holds. Does nothing for a
+     * WordData in the current form.
+     * @param files The registry to register the paths in.
+     */
+    public void registerLegacyFiles(FileRegistry files) {
+        if (legacyLines == null) {
+            return;
+        }
+        for (Map.Entry<?, ?> entry : legacyLines.entrySet()) {
+            int fileId = files.register((String) entry.getKey());
+            // the line lists were ArrayLists at first, and LineLists later on
+            if (entry.getValue() instanceof LineList) {
+                LineList lines = (LineList) entry.getValue();
+                for (int j = 0; j < lines.size(); j++) {
+                    linesFor(fileId).add(lines.get(j));
+                }
+            }
+            else {
+                for (Object line : (Collection<?>) entry.getValue()) {
+                    linesFor(fileId).add((Integer) line);
+                }
+            }
+        }
+        legacyLines = null;
+    }
+
+    /**
+     * Writes the word, with the legacy map left null, followed by each file id
+     * and its line list.
+     * @param out The stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("word", word);
+        fields.put("fileLines", null);
+        out.writeFields();
+        out.writeInt(fileCount);
+        for (int i = 0; i < fileCount; i++) {
+            out.writeInt(fileIds[i]);
+            out.writeObject(fileLines[i]);
+        }
+    }
+
+    /**
+     * Reads the files and line lists written by writeObject. A WordData written
+     * before files had ids holds its legacy map instead, which is kept until
+     * registerLegacyFiles turns it into occurrences.
+     * @param in The stream to read from.
+     * @throws IOException if the stream cannot be read.
+     * @throws ClassNotFoundException if a class in the stream cannot be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        word = (String) fields.get("word", null);
+        legacyLines = (Map<?, ?>) fields.get("fileLines", null);
+        if (legacyLines != null) {
+            fileIds = NO_FILES;
+            fileLines = NO_LINES;
+            fileCount = 0;
+            return;
+        }
+
+        fileCount = in.readInt();
+        fileIds = new int[fileCount];
+        fileLines = new LineList[fileCount];
+        for (int i = 0; i < fileCount; i++) {
+            fileIds[i] = in.readInt();
+            fileLines[i] = (LineList) in.readObject();
+        }
     }
     
     /**
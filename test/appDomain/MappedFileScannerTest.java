@@ -0,0 +1,204 @@
+package appDomain;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class Description: Tests for MappedFileScanner, checking both the raw byte
+ * path and the decoding path against the original readLine/split parsing, with
+ * windows small enough that words and line breaks straddle them. It sits in
+ * the appDomain package to reach the constructor that sets the window size.
+ */
+
+public class MappedFileScannerTest
+{
+	// Attributes
+	private File directory;
+	private List<String> tokens;
+	private WordTokenizer tokenizer;
+
+	/**
+	 * Creates an empty directory for the input files and a tokenizer that records
+	 * every token as "line:word" before each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		directory = File.createTempFile( "scanner", "" );
+		directory.delete();
+		directory.mkdir();
+		tokens = new ArrayList<String>();
+		tokenizer = new WordTokenizer( ( word, lineNumber ) -> tokens.add( lineNumber + ":" + word ) );
+	}
+
+	/**
+	 * Deletes the input files after each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		for( File file : directory.listFiles() )
+		{
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	/**
+	 * Test method for {@link appDomain.MappedFileScanner#scan(String, WordTokenizer)}
+	 * to feed UTF-8 files to the tokenizer as raw bytes, matching the legacy
+	 * parsing of the sample files in res.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testScan_BytesMatchLegacy() throws IOException
+	{
+		for( String fileName : new String[] { "res/test1.txt", "res/test2.txt", "res/test3.txt" } )
+		{
+			assertMatchesLegacy( fileName, StandardCharsets.UTF_8 );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.MappedFileScanner#scan(String, WordTokenizer)}
+	 * to decode UTF-16 files, where an odd window size splits characters between
+	 * windows, matching the legacy parsing of the sample files in res.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testScan_DecodedMatchLegacy() throws IOException
+	{
+		for( String fileName : new String[] { "res/test1.txt", "res/test2.txt", "res/test3.txt" } )
+		{
+			String text = new String( Files.readAllBytes( new File( fileName ).toPath() ), StandardCharsets.UTF_8 );
+			File encoded = new File( directory, new File( fileName ).getName() );
+			Files.write( encoded.toPath(), text.getBytes( StandardCharsets.UTF_16LE ) );
+			assertMatchesLegacy( encoded.getPath(), StandardCharsets.UTF_16LE );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.MappedFileScanner#scan(String, WordTokenizer)}
+	 * to join a word split between two windows, on both paths.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testScan_WordAcrossWindows() throws IOException
+	{
+		String[] expected = { "1:hello", "1:world" };
+
+		scan( "hello world", StandardCharsets.UTF_8, 3 );
+		assertArrayEquals( "Failed to join the bytes of a word.", expected, tokens.toArray() );
+
+		tokens.clear();
+		tokenizer = new WordTokenizer( ( word, lineNumber ) -> tokens.add( lineNumber + ":" + word ) );
+		scan( "hello world", StandardCharsets.UTF_16LE, 5 );
+		assertArrayEquals( "Failed to join the characters of a word.", expected, tokens.toArray() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.MappedFileScanner#scan(String, WordTokenizer)}
+	 * to count a "\r\n" split between two windows as a single line break, on both
+	 * paths.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testScan_CrlfAcrossWindows() throws IOException
+	{
+		String[] expected = { "1:one", "2:two", "3:three" };
+
+		scan( "one\r\ntwo\r\nthree", StandardCharsets.UTF_8, 4 );
+		assertArrayEquals( "Failed to count a split line break in bytes.", expected, tokens.toArray() );
+		assertEquals( "Failed to count the lines.", 3, tokenizer.getLineCount() );
+
+		tokens.clear();
+		tokenizer = new WordTokenizer( ( word, lineNumber ) -> tokens.add( lineNumber + ":" + word ) );
+		scan( "one\r\ntwo\r\nthree", StandardCharsets.UTF_16LE, 8 );
+		assertArrayEquals( "Failed to count a split line break in characters.", expected, tokens.toArray() );
+		assertEquals( "Failed to count the lines.", 3, tokenizer.getLineCount() );
+	}
+
+	/**
+	 * Writes the text to a file in the given charset and scans it.
+	 *
+	 * @param text the contents of the file
+	 * @param charset the encoding to write and scan it in
+	 * @param windowSize the number of bytes to map at a time
+	 * @throws IOException
+	 */
+	private void scan( String text, Charset charset, long windowSize ) throws IOException
+	{
+		File input = new File( directory, "input.txt" );
+		Files.write( input.toPath(), text.getBytes( charset ) );
+		new MappedFileScanner( charset, windowSize ).scan( input.getPath(), tokenizer );
+	}
+
+	/**
+	 * Checks that scanning the given file with a small odd-sized window matches
+	 * the legacy parsing.
+	 *
+	 * @param fileName the file to compare
+	 * @param charset the encoding of the file
+	 * @throws IOException
+	 */
+	private void assertMatchesLegacy( String fileName, Charset charset ) throws IOException
+	{
+		tokens.clear();
+		tokenizer = new WordTokenizer( ( word, lineNumber ) -> tokens.add( lineNumber + ":" + word ) );
+		new MappedFileScanner( charset, 37 ).scan( fileName, tokenizer );
+		assertEquals( "Tokens differ from the legacy parser for " + fileName, legacyTokens( fileName, charset ), tokens );
+	}
+
+	/**
+	 * Tokenizes a file the way WordTracker.parse did before the tokenizer existed.
+	 *
+	 * @param fileName the file to read
+	 * @param charset the encoding of the file
+	 * @return every token as "line:word"
+	 * @throws IOException
+	 */
+	private List<String> legacyTokens( String fileName, Charset charset ) throws IOException
+	{
+		List<String> expected = new ArrayList<String>();
+		try( BufferedReader reader = new BufferedReader( new InputStreamReader( new FileInputStream( fileName ), charset ) ) )
+		{
+			String line;
+			int lineNumber = 1;
+			while( ( line = reader.readLine() ) != null )
+			{
+				for( String word : line.split( "[^a-zA-Z0-9']+" ) )
+				{
+					word = word.replaceAll( "^'+|'+$", "" ).toLowerCase();
+					if( !word.isEmpty() )
+					{
+						expected.add( lineNumber + ":" + word );
+					}
+				}
+				lineNumber++;
+			}
+		}
+		return expected;
+	}
+}
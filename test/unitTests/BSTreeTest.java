@@ -2,6 +2,10 @@ package unitTests;
 
 import static org.junit.Assert.*;
 
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -328,6 +332,29 @@ public class BSTreeTest
 		assertEquals( "Failed to return null.", expected, actual );
 	}
 
+	/**
+	 * Test method for {@link implementations.BSTree#getComparisonCount()} to
+	 * count one comparison per level descended by each lookup, once counting is
+	 * turned on.
+	 */
+	@Test
+	public void testComparisonCount()
+	{
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+		tree.search( one );
+		assertEquals( "Failed to leave lookups uncounted.", 0, tree.getLookupCount() );
+
+		tree.setCounting( true );
+		tree.search( three );
+		tree.contains( one );
+		tree.search( four );
+
+		assertEquals( "Failed to count the lookups.", 3, tree.getLookupCount() );
+		assertEquals( "Failed to count the comparisons.", 7, tree.getComparisonCount() );
+	}
+
 	/**
 	 * Test method for {@link implementations.BSTree#search(java.lang.Comparable)}
 	 * to throw NullPointerException when searching for an item not found.
@@ -346,6 +373,66 @@ public class BSTreeTest
 		}
 	}
 
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#computeIfAbsent(java.lang.Comparable, java.util.function.Function)}
+	 * to return the existing node without calling the factory.
+	 */
+	@Test
+	public void testComputeIfAbsent_Existing()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+
+		BSTreeNode<Integer> node = tree.computeIfAbsent( 22, key -> {
+			fail( "Factory should not be called for an existing element." );
+			return key;
+		} );
+
+		assertSame( "Failed to return the existing node.", tree.search( two ), node );
+		assertEquals( "Size of tree should be ", 3, tree.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#computeIfAbsent(java.lang.Comparable, java.util.function.Function)}
+	 * to add the element created by the factory when it is missing.
+	 */
+	@Test
+	public void testComputeIfAbsent_Missing()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+
+		BSTreeNode<Integer> node = tree.computeIfAbsent( five, key -> key );
+
+		assertEquals( "Failed to add element correctly.", five, node.getElement() );
+		assertSame( "Failed to link the new node.", node, tree.search( five ) );
+		assertEquals( "Failed to update size correctly.", 4, tree.size() );
+		assertEquals( "Failed to update height correctly.", 3, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#computeIfAbsent(java.lang.Comparable, java.util.function.Function)}
+	 * to throw a NullPointerException when passing a null.
+	 */
+	@Test
+	public void testComputeIfAbsentForNullPointerException()
+	{
+		try
+		{
+			tree.computeIfAbsent( null, key -> key );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
 	/**
 	 * Test method for {@link implementations.BSTree#getHeight()} to return the
 	 * height of a balanced tree.
@@ -381,6 +468,36 @@ public class BSTreeTest
 		assertEquals( "Failed to return correct height.", expected, actual );
 	}
 
+	/**
+	 * Test method for {@link implementations.BSTree#getHeight()},
+	 * {@link implementations.BSTree#clear()} and the iterators to handle a
+	 * degenerate tree too deep for recursive traversal.
+	 */
+	@Test
+	public void testDegenerateTree_NoStackOverflow()
+	{
+		int count = 20000;
+		for( int i = 0; i < count; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( "Failed to return correct height.", count, tree.getHeight() );
+
+		Iterator<Integer> in = tree.inorderIterator();
+		Iterator<Integer> pre = tree.preorderIterator();
+		Iterator<Integer> post = tree.postorderIterator();
+		for( int i = 0; i < count; i++ )
+		{
+			assertEquals( "In-order iterator is out of order ", (Integer) i, in.next() );
+			assertEquals( "Preorder iterator is out of order ", (Integer) i, pre.next() );
+			assertEquals( "Postorder iterator is out of order ", (Integer) ( count - 1 - i ), post.next() );
+		}
+
+		tree.clear();
+		assertTrue( "Failed to clear the tree.", tree.isEmpty() );
+		assertEquals( "Height of tree should be ", 0, tree.getHeight() );
+	}
+
 	/**
 	 * Test method for {@link implementations.BSTree#getRoot()} to return the root
 	 * node of the tree.
@@ -526,6 +643,216 @@ public class BSTreeTest
 		assertEquals( "Preorder iterator is out of order ", true, actual );
 	}
 
+	/**
+	 * Test method for {@link implementations.BSTree#postorderIterator()} to visit
+	 * the nodes of a lopsided tree in post-order.
+	 */
+	@Test
+	public void testPostorderIterator_Lopsided()
+	{
+		tree.add( four );
+		tree.add( one );
+		tree.add( three );
+		tree.add( two );
+		tree.add( five );
+		tree.add( seven );
+		tree.add( six );
+
+		Integer[] shouldBe = { two, three, one, six, seven, five, four };
+		Iterator<Integer> it = tree.postorderIterator();
+		int i = 0;
+		while( it.hasNext() )
+		{
+			assertEquals( "Postorder iterator is out of order ", shouldBe[i++], it.next() );
+		}
+		assertEquals( "Failed to visit every element.", shouldBe.length, i );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#inorderIterator()} to throw
+	 * ConcurrentModificationException when the tree is modified during iteration.
+	 */
+	@Test
+	public void testInorderIterator_ConcurrentModification()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+
+		Iterator<Integer> it = tree.inorderIterator();
+		assertEquals( "Failed to return the first element.", two, it.next() );
+		tree.add( five );
+		try
+		{
+			it.next();
+			fail( "Failed to throw ConcurrentModificationException." );
+		}
+		catch( ConcurrentModificationException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#preorderIterator()} to throw
+	 * NoSuchElementException once every element has been returned.
+	 */
+	@Test
+	public void testPreorderIterator_Exhausted()
+	{
+		tree.add( two );
+		Iterator<Integer> it = tree.preorderIterator();
+		assertEquals( "Failed to return the root.", two, it.next() );
+		assertFalse( it.hasNext() );
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#inorderPartitions(int)} to
+	 * visit every element exactly once, in order, across the partitions, including
+	 * elements equal to the bounds between partitions.
+	 */
+	@Test
+	public void testInorderPartitions()
+	{
+		int[] values = { 44, 22, 66, 11, 33, 55, 77, 22, 66, 10, 80, 44 };
+		for( int value : values )
+		{
+			tree.add( value );
+		}
+
+		for( int count = 1; count <= 8; count++ )
+		{
+			List<Iterator<Integer>> partitions = tree.inorderPartitions( count );
+			assertTrue( "Failed to return enough partitions.", partitions.size() >= Math.min( count, values.length ) );
+
+			Iterator<Integer> expected = tree.inorderIterator();
+			for( Iterator<Integer> partition : partitions )
+			{
+				while( partition.hasNext() )
+				{
+					assertEquals( "Partitions are out of order.", expected.next(), partition.next() );
+				}
+			}
+			assertFalse( "Failed to visit every element.", expected.hasNext() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#inorderPartitions(int)} when
+	 * more partitions are asked for than the tree has elements, including a count
+	 * large enough to reach the limit of 30 levels of bounds.
+	 */
+	@Test
+	public void testInorderPartitions_MoreThanSize()
+	{
+		int[] values = { 44, 22, 66, 11, 33 };
+		for( int value : values )
+		{
+			tree.add( value );
+		}
+
+		for( int count : new int[] { 6, 64, 1 << 30, Integer.MAX_VALUE } )
+		{
+			List<Iterator<Integer>> partitions = tree.inorderPartitions( count );
+			assertEquals( "Failed to stop at the elements of the tree.", values.length + 1, partitions.size() );
+
+			Iterator<Integer> expected = tree.inorderIterator();
+			for( Iterator<Integer> partition : partitions )
+			{
+				while( partition.hasNext() )
+				{
+					assertEquals( "Partitions are out of order.", expected.next(), partition.next() );
+				}
+			}
+			assertFalse( "Failed to visit every element.", expected.hasNext() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#inorderPartitions(int)} on an
+	 * empty tree.
+	 */
+	@Test
+	public void testInorderPartitions_Empty()
+	{
+		List<Iterator<Integer>> partitions = tree.inorderPartitions( 4 );
+		assertEquals( "Failed to return a single partition.", 1, partitions.size() );
+		assertFalse( partitions.get( 0 ).hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#range(Comparable, Comparable)}
+	 * to return the elements from one element up to, but not including, another,
+	 * whether or not the bounds are in the tree.
+	 */
+	@Test
+	public void testRange()
+	{
+		int[] values = { 44, 22, 66, 11, 33, 55, 77 };
+		for( int value : values )
+		{
+			tree.add( value );
+		}
+
+		assertRange( tree.range( 22, 66 ), 22, 33, 44, 55 );
+		assertRange( tree.range( 23, 67 ), 33, 44, 55, 66 );
+		assertRange( tree.range( 34, 44 ) );
+		assertRange( tree.range( null, 33 ), 11, 22 );
+		assertRange( tree.range( 56, null ), 66, 77 );
+		assertRange( tree.headIterator( 12 ), 11 );
+		assertRange( tree.tailIterator( 77 ), 77 );
+		assertRange( new BSTree<Integer>().range( 1, 100 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#floor(Comparable)} and
+	 * {@link implementations.BSTree#ceiling(Comparable)} to find the closest
+	 * element on either side of a value.
+	 */
+	@Test
+	public void testFloorCeiling()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( three );
+
+		assertEquals( "Failed to find an equal element.", four, tree.floor( four ) );
+		assertEquals( "Failed to find an equal element.", four, tree.ceiling( four ) );
+		assertEquals( "Failed to find the element before.", three, tree.floor( 40 ) );
+		assertEquals( "Failed to find the element after.", four, tree.ceiling( 40 ) );
+		assertEquals( six, tree.floor( 100 ) );
+		assertNull( "Failed to return null below the smallest element.", tree.floor( 10 ) );
+		assertEquals( one, tree.ceiling( 10 ) );
+		assertNull( "Failed to return null above the largest element.", tree.ceiling( 67 ) );
+	}
+
+	/**
+	 * Checks that an iterator returns exactly the given elements, in order.
+	 *
+	 * @param iterator the iterator to check
+	 * @param expected the elements it should return
+	 */
+	private void assertRange( Iterator<Integer> iterator, int... expected )
+	{
+		for( int value : expected )
+		{
+			assertTrue( "Failed to return every element in the range.", iterator.hasNext() );
+			assertEquals( "Failed to return the elements in order.", value, (int) iterator.next() );
+		}
+		assertFalse( "Failed to stop at the end of the range.", iterator.hasNext() );
+	}
+
 	/**
 	 * Test method for {@link implementations.BSTree#size()} to return the size of a
 	 * non-empty tree.
@@ -607,4 +934,70 @@ public class BSTreeTest
 	{
 		assertNull( "Failed to return maximum value.", tree.removeMax() );
 	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#remove(Comparable)} to remove
+	 * leaves, nodes with one child and nodes with two children, relinking the
+	 * nodes left behind to their new parents.
+	 */
+	@Test
+	public void testRemove()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( three );
+		tree.add( five );
+		tree.add( seven );
+
+		assertEquals( "Failed to return the removed value.", two, tree.remove( two ).getElement() );
+		assertEquals( "Failed to update size.", 6, tree.size() );
+		assertFalse( tree.contains( two ) );
+		assertSame( "Failed to relink the parent.", tree.getRoot(), tree.search( three ).getParent() );
+		assertSame( tree.search( three ), tree.search( one ).getParent() );
+
+		assertEquals( four, tree.remove( four ).getElement() );
+		assertEquals( five, tree.getRoot().getElement() );
+		assertNull( "Failed to return null for a missing value.", tree.remove( four ) );
+		assertEquals( seven, tree.remove( seven ).getElement() );
+		assertSame( tree.getRoot(), tree.search( six ).getParent() );
+		assertEquals( 4, tree.size() );
+		assertEquals( "Height of tree should be ", 3, tree.getHeight() );
+
+		Iterator<Integer> iterator = tree.inorderIterator();
+		assertEquals( one, iterator.next() );
+		assertEquals( three, iterator.next() );
+		assertEquals( five, iterator.next() );
+		assertEquals( six, iterator.next() );
+		assertFalse( iterator.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMin()} and
+	 * {@link implementations.BSTree#removeMax()} to unlink the nodes they remove,
+	 * so the tree ends up empty once every value has been removed.
+	 */
+	@Test
+	public void testRemoveMinMax_Drain()
+	{
+		int[] values = { 44, 22, 66, 11, 33, 55, 77, 10, 80 };
+		for( int value : values )
+		{
+			tree.add( value );
+		}
+
+		assertEquals( 10, (int) tree.removeMin().getElement() );
+		assertEquals( 80, (int) tree.removeMax().getElement() );
+		assertEquals( "Failed to update the counts below the root.", 3, tree.rank( 44 ) );
+		assertEquals( 11, (int) tree.select( 0 ) );
+		for( int i = 0; i < 7; i++ )
+		{
+			assertNotNull( ( i & 1 ) == 0 ? tree.removeMin() : tree.removeMax() );
+		}
+		assertTrue( "Failed to empty the tree.", tree.isEmpty() );
+		assertEquals( "Height of tree should be ", 0, tree.getHeight() );
+		assertFalse( tree.inorderIterator().hasNext() );
+		assertNull( tree.removeMin() );
+	}
 }
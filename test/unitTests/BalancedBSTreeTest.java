@@ -0,0 +1,311 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.BalancedBSTree;
+
+/**
+ * Class Description: Tests for the self-balancing BalancedBSTree, checking
+ * that the height stays logarithmic for ordered input and that the ordering
+ * and bookkeeping of the tree survive rotations.
+ */
+
+public class BalancedBSTreeTest
+{
+	// Attributes
+	private BalancedBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new BalancedBSTree instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new BalancedBSTree<Integer>();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.BalancedBSTree#add(java.lang.Comparable)}
+	 * to keep the tree balanced when items are added in ascending order.
+	 */
+	@Test
+	public void testAdd_AscendingStaysBalanced()
+	{
+		for( int i = 1; i <= 1023; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( "Failed to update size correctly.", 1023, tree.size() );
+		assertEquals( "Height of tree should be ", 10, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BalancedBSTree#add(java.lang.Comparable)}
+	 * to keep the tree balanced when items are added in descending order.
+	 */
+	@Test
+	public void testAdd_DescendingStaysBalanced()
+	{
+		for( int i = 1000; i > 0; i-- )
+		{
+			tree.add( i );
+		}
+		assertTrue( "Tree is too tall.", tree.getHeight() <= 11 );
+		for( int i = 1; i <= 1000; i++ )
+		{
+			assertTrue( "Failed to find " + i, tree.contains( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BalancedBSTree#inorderIterator()} to
+	 * return the elements in order after rotations.
+	 */
+	@Test
+	public void testInorderIterator_AfterRotations()
+	{
+		int[] values = { 50, 20, 80, 10, 30, 25, 27, 26, 90, 85, 86 };
+		for( int value : values )
+		{
+			tree.add( value );
+		}
+
+		Iterator<Integer> it = tree.inorderIterator();
+		int previous = Integer.MIN_VALUE;
+		int count = 0;
+		while( it.hasNext() )
+		{
+			int current = it.next();
+			assertTrue( "Elements are out of order.", previous < current );
+			previous = current;
+			count++;
+		}
+		assertEquals( "Failed to iterate every element.", values.length, count );
+	}
+
+	/**
+	 * Test method for {@link implementations.BalancedBSTree#removeMin()} and
+	 * {@link implementations.BalancedBSTree#removeMax()} to drain the tree from
+	 * both ends while keeping it balanced.
+	 */
+	@Test
+	public void testRemoveMinMax_Drain()
+	{
+		for( int i = 1; i <= 100; i++ )
+		{
+			tree.add( i );
+		}
+		for( int i = 1; i <= 40; i++ )
+		{
+			assertEquals( "Failed to return minimum value.", i, (int) tree.removeMin().getElement() );
+			assertEquals( "Failed to return maximum value.", 101 - i, (int) tree.removeMax().getElement() );
+		}
+		assertEquals( "Failed to update size.", 20, tree.size() );
+		assertTrue( "Tree is too tall.", tree.getHeight() <= 6 );
+		assertFalse( tree.contains( 40 ) );
+		assertTrue( tree.contains( 41 ) );
+
+		while( tree.removeMin() != null )
+		{
+		}
+		assertTrue( "Failed to empty the tree.", tree.isEmpty() );
+		assertEquals( "Height of tree should be ", 0, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#rebuild(Object[])} to build a
+	 * tree of minimal height from sorted input, replacing the previous contents,
+	 * that later insertions and removals keep balanced.
+	 */
+	@Test
+	public void testRebuild_SortedInput()
+	{
+		tree.add( 5000 );
+		Integer[] sorted = new Integer[1000];
+		for( int i = 0; i < sorted.length; i++ )
+		{
+			sorted[i] = i * 2;
+		}
+		tree.rebuild( sorted );
+
+		assertEquals( "Failed to update size.", 1000, tree.size() );
+		assertEquals( "Height of tree should be ", 10, tree.getHeight() );
+		assertFalse( "Failed to replace the previous contents.", tree.contains( 5000 ) );
+		Iterator<Integer> iterator = tree.inorderIterator();
+		for( int i = 0; i < sorted.length; i++ )
+		{
+			assertEquals( "Failed to keep the items in order.", i * 2, (int) iterator.next() );
+		}
+
+		for( int i = 1; i < 2000; i += 2 )
+		{
+			tree.add( i );
+		}
+		assertEquals( 2000, tree.size() );
+		assertEquals( "Height of tree should be ", 11, tree.getHeight() );
+		for( int i = 0; i < 2000; i++ )
+		{
+			assertEquals( "Failed to return minimum value.", i, (int) tree.removeMin().getElement() );
+		}
+		assertTrue( "Failed to empty the tree.", tree.isEmpty() );
+
+		tree.rebuild( new Integer[0] );
+		assertTrue( tree.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#merge(implementations.BSTree, java.util.function.BinaryOperator)}
+	 * to interleave the items of two trees, combining the items found in both,
+	 * and leave a balanced tree.
+	 */
+	@Test
+	public void testMerge_Interleaved()
+	{
+		BalancedBSTree<Integer> other = new BalancedBSTree<Integer>();
+		for( int i = 0; i < 600; i++ )
+		{
+			tree.add( i * 2 );
+			other.add( i * 3 );
+		}
+		List<Integer> combined = new ArrayList<>();
+		tree.merge( other, ( mine, theirs ) -> {
+			combined.add( mine );
+			return mine;
+		} );
+
+		assertEquals( "Failed to combine the items in both trees.", 200, combined.size() );
+		assertEquals( "Failed to update size.", 1000, tree.size() );
+		assertEquals( "Height of tree should be ", 10, tree.getHeight() );
+		assertEquals( "Failed to leave the other tree alone.", 600, other.size() );
+		Iterator<Integer> iterator = tree.inorderIterator();
+		int previous = -1;
+		while( iterator.hasNext() )
+		{
+			int value = iterator.next();
+			assertTrue( "Failed to keep the items in order.", value > previous );
+			assertTrue( value % 2 == 0 || value % 3 == 0 );
+			previous = value;
+		}
+
+		tree.merge( new BalancedBSTree<Integer>(), ( mine, theirs ) -> mine );
+		assertEquals( 1000, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#rank(Comparable)},
+	 * {@link implementations.BSTree#select(int)} and
+	 * {@link implementations.BSTree#countInRange(Comparable, Comparable)} to agree
+	 * with the inorder positions of the items after rotations and removals.
+	 */
+	@Test
+	public void testRankSelect_AfterUpdates()
+	{
+		for( int i = 1; i <= 200; i++ )
+		{
+			tree.add( ( i * 37 ) % 201 * 5 );
+		}
+		for( int i = 0; i < 20; i++ )
+		{
+			tree.removeMin();
+			tree.removeMax();
+		}
+
+		Iterator<Integer> iterator = tree.inorderIterator();
+		for( int index = 0; index < 160; index++ )
+		{
+			int value = iterator.next();
+			assertEquals( "Failed to select the item at its position.", value, (int) tree.select( index ) );
+			assertEquals( "Failed to rank the item at its position.", index, tree.rank( value ) );
+			assertEquals( "Failed to rank a missing item.", index + 1, tree.rank( value + 1 ) );
+		}
+		assertEquals( 0, tree.rank( 0 ) );
+		assertEquals( 160, tree.rank( 10000 ) );
+
+		assertEquals( "Failed to count the items in the range.", 20, tree.countInRange( 201, 301 ) );
+		assertEquals( 160, tree.countInRange( null, null ) );
+		assertEquals( 0, tree.countInRange( 500, 400 ) );
+		try
+		{
+			tree.select( 160 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#page(int, int)} to return the
+	 * items of each page in order, with a short last page.
+	 */
+	@Test
+	public void testPage()
+	{
+		for( int i = 0; i < 95; i++ )
+		{
+			tree.add( i );
+		}
+
+		int expected = 0;
+		for( int offset = 0; offset < 95; offset += 10 )
+		{
+			Iterator<Integer> page = tree.page( offset, 10 );
+			for( int i = 0; i < 10 && expected < 95; i++ )
+			{
+				assertEquals( "Failed to return the page in order.", expected++, (int) page.next() );
+			}
+			assertFalse( "Failed to stop at the end of the page.", page.hasNext() );
+		}
+		assertFalse( "Failed to return an empty page past the end.", tree.page( 95, 10 ).hasNext() );
+		assertFalse( tree.page( 0, 0 ).hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#remove(Comparable)} to keep
+	 * the tree balanced and ordered while items are removed from the middle.
+	 */
+	@Test
+	public void testRemove_StaysBalanced()
+	{
+		for( int i = 1; i <= 1000; i++ )
+		{
+			tree.add( i );
+		}
+		for( int i = 2; i <= 1000; i += 2 )
+		{
+			assertEquals( "Failed to return the removed value.", i, (int) tree.remove( i ).getElement() );
+		}
+
+		assertEquals( "Failed to update size.", 500, tree.size() );
+		assertTrue( "Tree is too tall.", tree.getHeight() <= 10 );
+		Iterator<Integer> iterator = tree.inorderIterator();
+		for( int index = 0; index < 500; index++ )
+		{
+			assertEquals( "Failed to keep the items in order.", index * 2 + 1, (int) iterator.next() );
+			assertEquals( index * 2 + 1, (int) tree.select( index ) );
+		}
+	}
+}
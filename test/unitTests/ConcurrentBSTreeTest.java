@@ -0,0 +1,357 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.BSTree;
+import implementations.BalancedBSTree;
+import implementations.ConcurrentBSTree;
+import implementations.WordData;
+
+/**
+ * Class Description: Tests for ConcurrentBSTree, checking that it behaves like
+ * a balanced BSTree on one thread and that no update is lost when several
+ * threads add to it while others read it.
+ */
+
+public class ConcurrentBSTreeTest
+{
+	// Attributes
+	private ConcurrentBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new ConcurrentBSTree instance before each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new ConcurrentBSTree<Integer>();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#add(java.lang.Comparable)}
+	 * to keep the tree balanced and ordered when items are added in ascending
+	 * order, and for removeMin and removeMax to drain it from both ends.
+	 */
+	@Test
+	public void testAdd_AscendingStaysBalanced()
+	{
+		for( int i = 1; i <= 1023; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( "Failed to update size correctly.", 1023, tree.size() );
+		assertEquals( "Height of tree should be ", 10, tree.getHeight() );
+
+		Iterator<Integer> iterator = tree.inorderIterator();
+		for( int i = 1; i <= 1023; i++ )
+		{
+			assertEquals( "Failed to return the items in order.", i, (int) iterator.next() );
+		}
+		assertEquals( "Failed to select the item at its position.", 500, (int) tree.select( 499 ) );
+		assertEquals( "Failed to rank the item at its position.", 499, tree.rank( 500 ) );
+
+		for( int i = 1; i <= 511; i++ )
+		{
+			assertEquals( i, (int) tree.removeMin().getElement() );
+			assertEquals( 1024 - i, (int) tree.removeMax().getElement() );
+		}
+		assertEquals( 512, (int) tree.removeMin().getElement() );
+		assertTrue( "Failed to empty the tree.", tree.isEmpty() );
+		assertNull( tree.removeMax() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#inorderIterator()}
+	 * to carry on over the items the tree held when it was created.
+	 */
+	@Test
+	public void testInorderIterator_UnaffectedByUpdates()
+	{
+		for( int i = 1; i <= 10; i++ )
+		{
+			tree.add( i );
+		}
+		Iterator<Integer> iterator = tree.inorderIterator();
+		tree.add( 11 );
+		tree.removeMin();
+		tree.clear();
+
+		for( int i = 1; i <= 10; i++ )
+		{
+			assertEquals( "Failed to keep walking the old tree.", i, (int) iterator.next() );
+		}
+		assertFalse( iterator.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#ConcurrentBSTree(implementations.BSTree)}
+	 * to copy another tree's items.
+	 */
+	@Test
+	public void testConstructor_Copy()
+	{
+		BalancedBSTree<Integer> other = new BalancedBSTree<Integer>();
+		for( int i = 1; i <= 100; i++ )
+		{
+			other.add( i );
+		}
+		tree = new ConcurrentBSTree<Integer>( other );
+		other.clear();
+
+		assertEquals( "Failed to copy the size.", 100, tree.size() );
+		assertTrue( tree.contains( 1 ) );
+		assertTrue( tree.contains( 100 ) );
+		tree.add( 101 );
+		assertEquals( 101, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#ConcurrentBSTree(implementations.BSTree)}
+	 * to copy a plain tree that has degenerated into a list into a balanced tree,
+	 * without walking it recursively.
+	 */
+	@Test
+	public void testConstructor_CopyDegenerate()
+	{
+		BSTree<Integer> other = new BSTree<Integer>();
+		for( int i = 1; i <= 20000; i++ )
+		{
+			other.add( i );
+		}
+		assertEquals( 20000, other.getHeight() );
+		tree = new ConcurrentBSTree<Integer>( other );
+
+		assertEquals( "Failed to copy the size.", 20000, tree.size() );
+		assertEquals( "Failed to balance the copy.", 15, tree.getHeight() );
+		Iterator<Integer> iterator = tree.inorderIterator();
+		for( int i = 1; i <= 20000; i++ )
+		{
+			assertEquals( "Failed to copy the items in order.", i, (int) iterator.next() );
+		}
+		assertFalse( iterator.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#computeIfAbsent(java.lang.Comparable, java.util.function.Function)}
+	 * and {@link implementations.ConcurrentBSTree#replace(java.lang.Comparable, java.lang.Comparable)}
+	 * to add every word exactly once and keep every occurrence when several
+	 * threads add the same words at once while another thread reads the tree.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testComputeIfAbsent_ConcurrentWriters() throws InterruptedException
+	{
+		ConcurrentBSTree<WordData> words = new ConcurrentBSTree<WordData>();
+		int writers = 4;
+		int wordCount = 500;
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicBoolean disordered = new AtomicBoolean();
+
+		Thread reader = new Thread( () -> {
+			while( !done.get() )
+			{
+				Iterator<WordData> iterator = words.inorderIterator();
+				WordData previous = null;
+				while( iterator.hasNext() )
+				{
+					WordData data = iterator.next();
+					if( previous != null && previous.compareTo( data ) >= 0 )
+					{
+						disordered.set( true );
+					}
+					previous = data;
+				}
+			}
+		} );
+		reader.start();
+
+		List<Thread> threads = new ArrayList<>();
+		for( int t = 0; t < writers; t++ )
+		{
+			int fileId = t;
+			Thread writer = new Thread( () -> {
+				for( int i = 0; i < wordCount; i++ )
+				{
+					String word = String.format( "w%04d", ( i * 7 + fileId * 131 ) % wordCount );
+					WordData existing = words.computeIfAbsent( new WordData( word ), key -> key ).getElement();
+					// a published word is never changed in place, but replaced by a changed copy
+					WordData changed = existing.copy();
+					changed.addOccurrence( fileId, i + 1 );
+					while( !words.replace( existing, changed ) )
+					{
+						existing = words.search( changed ).getElement();
+						changed = existing.copy();
+						changed.addOccurrence( fileId, i + 1 );
+					}
+				}
+			} );
+			threads.add( writer );
+			writer.start();
+		}
+		for( Thread writer : threads )
+		{
+			writer.join();
+		}
+		done.set( true );
+		reader.join();
+
+		assertFalse( "Failed to keep the tree in order while it was read.", disordered.get() );
+		assertEquals( "Failed to add each word exactly once.", wordCount, words.size() );
+		Iterator<WordData> iterator = words.inorderIterator();
+		while( iterator.hasNext() )
+		{
+			assertEquals( "Failed to keep every writer's occurrence.", writers, iterator.next().getFileCount() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#snapshot()} to keep
+	 * the items the tree held when it was taken while both trees change.
+	 */
+	@Test
+	public void testSnapshot_Independent()
+	{
+		for( int i = 1; i <= 10; i++ )
+		{
+			tree.add( i );
+		}
+		ConcurrentBSTree<Integer> snapshot = tree.snapshot();
+		tree.add( 11 );
+		tree.removeMin();
+		snapshot.add( 0 );
+
+		assertEquals( "Failed to keep the snapshot's size.", 11, snapshot.size() );
+		assertTrue( snapshot.contains( 1 ) );
+		assertFalse( "Failed to keep later items out of the snapshot.", snapshot.contains( 11 ) );
+		assertEquals( "Failed to keep the tree's size.", 10, tree.size() );
+		assertFalse( "Failed to keep the snapshot's items out of the tree.", tree.contains( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#replace(java.lang.Comparable, java.lang.Comparable)}
+	 * to swap in a changed copy of a word only while the expected word is still
+	 * in the tree, leaving the word in a snapshot untouched.
+	 */
+	@Test
+	public void testReplace_CopiedWord()
+	{
+		ConcurrentBSTree<WordData> words = new ConcurrentBSTree<WordData>();
+		WordData original = new WordData( "apple" );
+		original.addOccurrence( 0, 1 );
+		assertTrue( "Failed to add an absent word.", words.replace( null, original ) );
+		ConcurrentBSTree<WordData> snapshot = words.snapshot();
+
+		WordData changed = original.copy();
+		changed.addOccurrence( 0, 2 );
+		changed.addOccurrence( 1, 3 );
+		assertTrue( "Failed to replace the expected word.", words.replace( original, changed ) );
+		assertFalse( "Failed to refuse a stale word.", words.replace( original, original.copy() ) );
+		assertFalse( "Failed to refuse to add a present word.", words.replace( null, new WordData( "apple" ) ) );
+
+		assertSame( changed, words.search( new WordData( "apple" ) ).getElement() );
+		assertEquals( 1, words.size() );
+		WordData old = snapshot.search( new WordData( "apple" ) ).getElement();
+		assertSame( "Failed to keep the old word in the snapshot.", original, old );
+		assertEquals( "Failed to leave the old word's files alone.", 1, old.getFileCount() );
+		assertArrayEquals( "Failed to leave the old word's lines alone.", new int[] { 1 }, old.getLines( 0 ).toArray() );
+		assertArrayEquals( new int[] { 1, 2 }, changed.getLines( 0 ).toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#merge(implementations.BSTree, java.util.function.BinaryOperator)}
+	 * to merge the occurrences of the words in both indexes, leaving a snapshot
+	 * taken before the merge as it was.
+	 */
+	@Test
+	public void testMerge_WordIndexes()
+	{
+		ConcurrentBSTree<WordData> words = new ConcurrentBSTree<WordData>();
+		BalancedBSTree<WordData> other = new BalancedBSTree<WordData>();
+		for( int i = 0; i < 100; i++ )
+		{
+			WordData data = new WordData( String.format( "w%03d", i ) );
+			data.addOccurrence( 0, i + 1 );
+			words.add( data );
+			WordData more = new WordData( String.format( "w%03d", i + 50 ) );
+			more.addOccurrence( 1, i + 1 );
+			other.add( more );
+		}
+		ConcurrentBSTree<WordData> snapshot = words.snapshot();
+		words.merge( other, ( data, more ) -> {
+			WordData merged = data.copy();
+			merged.merge( more );
+			return merged;
+		} );
+
+		assertEquals( "Failed to add the other index's words.", 150, words.size() );
+		assertEquals( "Tree is too tall.", 8, words.getHeight() );
+		assertEquals( "Failed to merge a shared word.", 2, words.search( new WordData( "w075" ) ).getElement().getFileCount() );
+		assertEquals( 1, words.search( new WordData( "w025" ) ).getElement().getFileCount() );
+		assertEquals( 1, words.search( new WordData( "w125" ) ).getElement().getFileCount() );
+		assertEquals( "Failed to leave the snapshot alone.", 100, snapshot.size() );
+		assertEquals( 1, snapshot.search( new WordData( "w075" ) ).getElement().getFileCount() );
+
+		WordData stored = words.search( new WordData( "w075" ) ).getElement();
+		WordData parsed = new WordData( "w075" );
+		parsed.addOccurrence( 0, 76 );
+		parsed.addOccurrence( 1, 26 );
+		assertNull( "Failed to find nothing new.", stored.newOccurrences( parsed ) );
+		parsed.addOccurrence( 1, 27 );
+		parsed.addOccurrence( 2, 1 );
+		WordData found = stored.newOccurrences( parsed );
+		assertEquals( "Failed to find the new occurrences.", 2, found.getFileCount() );
+		assertArrayEquals( new int[] { 27 }, found.getLines( 0 ).toArray() );
+		assertEquals( 2, found.getFileId( 1 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#remove(Comparable)}
+	 * to remove items from the middle of the tree, keeping it balanced, while a
+	 * snapshot taken before keeps them.
+	 */
+	@Test
+	public void testRemove_SnapshotKeepsItems()
+	{
+		for( int i = 1; i <= 1000; i++ )
+		{
+			tree.add( i );
+		}
+		ConcurrentBSTree<Integer> snapshot = tree.snapshot();
+		for( int i = 2; i <= 1000; i += 2 )
+		{
+			assertEquals( "Failed to return the removed value.", i, (int) tree.remove( i ).getElement() );
+		}
+		assertNull( "Failed to return null for a missing value.", tree.remove( 2 ) );
+
+		assertEquals( "Failed to update size.", 500, tree.size() );
+		assertTrue( "Tree is too tall.", tree.getHeight() <= 10 );
+		assertEquals( 999, (int) tree.select( 499 ) );
+		assertFalse( tree.contains( 500 ) );
+		assertEquals( "Failed to leave the snapshot alone.", 1000, snapshot.size() );
+		assertTrue( snapshot.contains( 500 ) );
+	}
+}
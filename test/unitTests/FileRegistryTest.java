@@ -0,0 +1,122 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.FileRegistry;
+
+/**
+ * Class Description: Tests for FileRegistry, which hands out the ids that
+ * WordData uses to refer to files.
+ */
+
+public class FileRegistryTest
+{
+	// Attributes
+	private FileRegistry files;
+
+	/**
+	 * Initializes a new FileRegistry instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		files = new FileRegistry();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		files = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.FileRegistry#getNameRank(int)} when
+	 * the files are registered in order of their paths.
+	 */
+	@Test
+	public void testGetNameRank_InNameOrder()
+	{
+		files.register( "a.txt" );
+		files.register( "b.txt" );
+		files.register( "a.txt" );
+		files.register( "c.txt" );
+		assertTrue( "Failed to detect name order.", files.isInNameOrder() );
+		for( int id = 0; id < files.size(); id++ )
+		{
+			assertEquals( "Failed to rank by id.", id, files.getNameRank( id ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.FileRegistry#getNameRank(int)} when
+	 * the files are registered out of order, including a file registered after
+	 * the ranks have been worked out.
+	 */
+	@Test
+	public void testGetNameRank_OutOfOrder()
+	{
+		int c = files.register( "c.txt" );
+		int a = files.register( "a.txt" );
+		assertFalse( "Failed to detect files out of name order.", files.isInNameOrder() );
+		assertEquals( "Failed to rank the first path.", 0, files.getNameRank( a ) );
+		assertEquals( "Failed to rank the last path.", 1, files.getNameRank( c ) );
+
+		int b = files.register( "b.txt" );
+		assertEquals( "Failed to rank the first path.", 0, files.getNameRank( a ) );
+		assertEquals( "Failed to rank a new path.", 1, files.getNameRank( b ) );
+		assertEquals( "Failed to rank the last path.", 2, files.getNameRank( c ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.FileRegistry#getNameRank(int)} while
+	 * another thread registers files out of order, growing the array of names
+	 * many times.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testGetNameRank_WhileRegistering() throws InterruptedException
+	{
+		int z = files.register( "z.txt" );
+		int a = files.register( "a.txt" );
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread reader = new Thread( () -> {
+			try
+			{
+				while( !Thread.currentThread().isInterrupted() )
+				{
+					int before = files.size();
+					assertEquals( "Failed to rank the first path.", 0, files.getNameRank( a ) );
+					int rank = files.getNameRank( z );
+					assertTrue( "Failed to rank the last path.", rank >= before - 1 && rank < files.size() );
+				}
+			}
+			catch( Throwable e )
+			{
+				failure.set( e );
+			}
+		} );
+		reader.start();
+		for( int i = 99999; i >= 10000; i-- )
+		{
+			files.register( "m" + i + ".txt" );
+		}
+		reader.interrupt();
+		reader.join();
+		assertNull( "Failed to rank files while registering: " + failure.get(), failure.get() );
+		assertEquals( "Failed to rank the last path.", files.size() - 1, files.getNameRank( z ) );
+	}
+}
@@ -0,0 +1,116 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.LineList;
+
+/**
+ * Class Description: Tests for LineList, the sorted primitive list of line
+ * numbers kept for each file a word appears in.
+ */
+
+public class LineListTest
+{
+	// Attributes
+	private LineList lines;
+
+	/**
+	 * Initializes a new LineList instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		lines = new LineList();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		lines = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.LineList#add(int)} to append line
+	 * numbers that arrive in increasing order and drop repeats.
+	 */
+	@Test
+	public void testAdd_InOrderWithRepeats()
+	{
+		for( int i = 1; i <= 100; i++ )
+		{
+			assertTrue( "Failed to add new line number.", lines.add( i ) );
+			assertFalse( "Failed to drop repeated line number.", lines.add( i ) );
+		}
+		assertEquals( "Failed to update size.", 100, lines.size() );
+		assertEquals( "Failed to return first line number.", 1, lines.get( 0 ) );
+		assertEquals( "Failed to return last line number.", 100, lines.get( 99 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.LineList#add(int)} to keep line
+	 * numbers sorted when they arrive out of order.
+	 */
+	@Test
+	public void testAdd_OutOfOrder()
+	{
+		lines.add( 10 );
+		lines.add( 30 );
+		lines.add( 20 );
+		lines.add( 5 );
+		assertFalse( "Failed to drop repeated line number.", lines.add( 20 ) );
+		lines.add( 40 );
+
+		int[] expected = { 5, 10, 20, 30, 40 };
+		assertArrayEquals( "Line numbers are out of order.", expected, lines.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LineList#addAll(implementations.LineList)}
+	 * to merge two lists without duplicates.
+	 */
+	@Test
+	public void testAddAll()
+	{
+		LineList other = new LineList();
+		lines.add( 1 );
+		lines.add( 4 );
+		other.add( 2 );
+		other.add( 4 );
+		other.add( 6 );
+
+		lines.addAll( other );
+
+		int[] expected = { 1, 2, 4, 6 };
+		assertArrayEquals( "Failed to merge line numbers.", expected, lines.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LineList#get(int)} to throw
+	 * IndexOutOfBoundsException past the end of the list.
+	 */
+	@Test
+	public void testGet_OutOfBounds()
+	{
+		lines.add( 1 );
+		try
+		{
+			lines.get( 1 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+}
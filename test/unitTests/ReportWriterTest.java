@@ -0,0 +1,173 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import appDomain.ReportWriter;
+import implementations.FileRegistry;
+import implementations.WordData;
+
+/**
+ * Class Description: Tests for ReportWriter, streaming a report to a captured
+ * console and to an output file in a temporary directory.
+ */
+
+public class ReportWriterTest
+{
+	// Attributes
+	private File directory;
+	private FileRegistry files;
+	private PrintStream systemOut;
+	private ByteArrayOutputStream console;
+
+	/**
+	 * Creates an empty directory for the output file and captures the console
+	 * before each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		directory = File.createTempFile( "reportwriter", "" );
+		directory.delete();
+		directory.mkdir();
+		files = new FileRegistry();
+		files.register( "a.txt" );
+		files.register( "b.txt" );
+		systemOut = System.out;
+		console = new ByteArrayOutputStream();
+		System.setOut( new PrintStream( console, true ) );
+	}
+
+	/**
+	 * Restores the console and deletes the output file after each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		System.setOut( systemOut );
+		for( File file : directory.listFiles() )
+		{
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	/**
+	 * Test method for {@link appDomain.ReportWriter#write(WordData, String)} to
+	 * stream the same entries to the console and to the output file.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testWrite_ConsoleAndFile() throws IOException
+	{
+		File output = new File( directory, "report.txt" );
+		try( ReportWriter report = new ReportWriter( files, output.getPath() ) )
+		{
+			report.write( word( "apple", 0, 1, 0, 3, 1, 3 ), "-po" );
+			report.write( word( "pear", 1, 2 ), "-po" );
+		}
+
+		String entries = "Key : ===apple===  found in file: a.txt on lines: 1, 3 number of entries: 2"
+				+ " found in file: b.txt on lines: 3 number of entries: 3\n"
+				+ "Key : ===pear===  found in file: b.txt on lines: 2 number of entries: 1\n";
+		assertEquals( "Failed to write the file.", entries, read( output ) );
+		String printed = console.toString( "UTF-8" );
+		assertTrue( "Failed to print the report.", printed.startsWith( entries + System.lineSeparator() ) );
+		assertTrue( "Failed to report the file.", printed.contains( "Successfully wrote to the file." ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ReportWriter#abort()} to delete an output
+	 * file that has already been partly written.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testAbort_DeletesPartialFile() throws IOException
+	{
+		File output = new File( directory, "report.txt" );
+		try( ReportWriter report = new ReportWriter( files, output.getPath() ) )
+		{
+			report.write( word( "apple", 0, 1 ), "-po" );
+			assertTrue( "Failed to open the file.", output.exists() );
+			report.abort();
+		}
+
+		assertFalse( "Failed to delete the partial file.", output.exists() );
+		assertFalse( "Failed to skip the file message.", console.toString( "UTF-8" ).contains( "Successfully" ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ReportWriter#close()} to print the whole
+	 * report to the console before failing on an output file that cannot be
+	 * created.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testClose_BadPathAfterConsole() throws IOException
+	{
+		File output = new File( new File( directory, "missing" ), "report.txt" );
+		ReportWriter report = new ReportWriter( files, output.getPath() );
+		report.write( word( "apple", 0, 1 ), "-po" );
+		report.write( word( "pear", 1, 2 ), "-po" );
+		try
+		{
+			report.close();
+			fail( "Failed to report the bad path." );
+		}
+		catch( IOException e )
+		{
+			assertTrue( "Failed to name the file.", e.getMessage().contains( output.getPath() ) );
+		}
+
+		String printed = console.toString( "UTF-8" );
+		assertTrue( "Failed to print the report first.", printed.contains( "===apple===" ) && printed.contains( "===pear===" ) );
+		assertFalse( "Failed to skip the file message.", printed.contains( "Successfully" ) );
+		assertFalse( "Failed to leave no file.", output.exists() );
+	}
+
+	/**
+	 * Builds a word with occurrences in the given files.
+	 *
+	 * @param word the word
+	 * @param occurrences pairs of a file id and a line number
+	 * @return the word's data
+	 */
+	private WordData word( String word, int... occurrences )
+	{
+		WordData data = new WordData( word );
+		for( int i = 0; i < occurrences.length; i += 2 )
+		{
+			data.addOccurrence( occurrences[i], occurrences[i + 1] );
+		}
+		return data;
+	}
+
+	/**
+	 * Reads the output file back.
+	 *
+	 * @param output the output file
+	 * @return its contents
+	 * @throws IOException
+	 */
+	private String read( File output ) throws IOException
+	{
+		return new String( Files.readAllBytes( output.toPath() ), StandardCharsets.UTF_8 );
+	}
+}
@@ -0,0 +1,361 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import appDomain.MappedRepository;
+import appDomain.RepositoryFile;
+import implementations.BSTree;
+import implementations.BalancedBSTree;
+import implementations.FileRegistry;
+import implementations.WordData;
+import utilities.Iterator;
+
+/**
+ * Class Description: Tests for RepositoryFile, covering the repository file
+ * itself and the journal of segments appended after it.
+ */
+
+public class RepositoryFileTest
+{
+	// Attributes
+	private File directory;
+	private File base;
+	private File journal;
+	private RepositoryFile repo;
+
+	/**
+	 * Creates an empty directory to hold the repository before each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		directory = File.createTempFile( "repository", "" );
+		directory.delete();
+		directory.mkdir();
+		base = new File( directory, "repository.ser" );
+		journal = new File( directory, "repository.ser.journal" );
+		repo = new RepositoryFile( base.getPath() );
+	}
+
+	/**
+	 * Deletes the repository files after each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		for( File file : directory.listFiles() )
+		{
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFile#append(FileRegistry, BSTree)}
+	 * to replay appended segments on top of the repository file, including
+	 * segments that refer to files the repository file does not list.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testAppend_ReplayedOnRead() throws IOException
+	{
+		FileRegistry files = new FileRegistry();
+		int first = files.register( "first.txt" );
+		BSTree<WordData> words = new BalancedBSTree<WordData>();
+		words.add( word( "apple", first, 1 ) );
+		words.add( word( "pear", first, 2 ) );
+		repo.write( files, words );
+		assertFalse( "Failed to start without a journal.", journal.exists() );
+
+		int second = files.register( "second.txt" );
+		BSTree<WordData> added = new BalancedBSTree<WordData>();
+		added.add( word( "apple", second, 5 ) );
+		added.add( word( "zebra", second, 7 ) );
+		repo.append( files, added );
+
+		BSTree<WordData> delta = new BalancedBSTree<WordData>();
+		delta.add( word( "pear", first, 9 ) );
+		repo.append( files, delta );
+		assertTrue( "Failed to write the journal.", journal.exists() );
+
+		FileRegistry loadedFiles = new FileRegistry();
+		BSTree<WordData> loaded = repo.read( loadedFiles );
+		assertEquals( "Failed to replay new words.", 3, loaded.size() );
+		assertEquals( "Failed to register journal files.", 2, loadedFiles.size() );
+
+		WordData apple = loaded.search( new WordData( "apple" ) ).getElement();
+		assertEquals( "Failed to merge occurrences from the journal.", 2, apple.getFileCount() );
+		assertEquals( "Failed to translate the file id.", "second.txt",
+				loadedFiles.getName( apple.getFileId( 1 ) ) );
+		assertArrayEquals( new int[] { 5 }, apple.getLines( 1 ).toArray() );
+
+		WordData pear = loaded.search( new WordData( "pear" ) ).getElement();
+		assertArrayEquals( new int[] { 2, 9 }, pear.getLines( 0 ).toArray() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFile#write(FileRegistry, BSTree)}
+	 * to fold the journal back into the repository file.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testWrite_CompactsJournal() throws IOException
+	{
+		FileRegistry files = new FileRegistry();
+		int id = files.register( "first.txt" );
+		BSTree<WordData> words = new BalancedBSTree<WordData>();
+		words.add( word( "apple", id, 1 ) );
+		repo.write( files, words );
+
+		BSTree<WordData> added = new BalancedBSTree<WordData>();
+		added.add( word( "banana", id, 3 ) );
+		repo.append( files, added );
+
+		FileRegistry loadedFiles = new FileRegistry();
+		BSTree<WordData> loaded = repo.read( loadedFiles );
+		repo.write( loadedFiles, loaded );
+		assertFalse( "Failed to delete the journal.", journal.exists() );
+
+		BSTree<WordData> compacted = repo.read( new FileRegistry() );
+		assertEquals( "Failed to keep journal words.", 2, compacted.size() );
+		assertTrue( compacted.contains( new WordData( "banana" ) ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFile#read(FileRegistry)} to ignore
+	 * a segment that was cut short, and to append after the last complete one.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testRead_TornSegment() throws IOException
+	{
+		FileRegistry files = new FileRegistry();
+		int id = files.register( "first.txt" );
+		BSTree<WordData> words = new BalancedBSTree<WordData>();
+		words.add( word( "apple", id, 1 ) );
+		repo.write( files, words );
+
+		BSTree<WordData> added = new BalancedBSTree<WordData>();
+		added.add( word( "banana", id, 3 ) );
+		repo.append( files, added );
+		long complete = journal.length();
+
+		try( FileOutputStream output = new FileOutputStream( journal, true ) )
+		{
+			output.write( new byte[] { 0x57, 0x54, 0x53, 0x47, 0, 0, 0, 100, 1, 2 } );
+		}
+
+		BSTree<WordData> loaded = repo.read( new FileRegistry() );
+		assertEquals( "Failed to skip the torn segment.", 2, loaded.size() );
+		assertEquals( "Failed to truncate the torn segment.", complete, journal.length() );
+
+		BSTree<WordData> more = new BalancedBSTree<WordData>();
+		more.add( word( "cherry", id, 4 ) );
+		repo.append( files, more );
+		assertEquals( "Failed to replay a segment after the torn one.", 3,
+				repo.read( new FileRegistry() ).size() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.MappedRepository#lookup(String)} to skip a
+	 * segment that was cut short without truncating it, leaving the repair to
+	 * the writer.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testMappedRepository_TornSegmentLeftInPlace() throws IOException
+	{
+		FileRegistry files = new FileRegistry();
+		int id = files.register( "first.txt" );
+		BSTree<WordData> words = new BalancedBSTree<WordData>();
+		words.add( word( "apple", id, 1 ) );
+		repo.write( files, words );
+
+		BSTree<WordData> added = new BalancedBSTree<WordData>();
+		added.add( word( "banana", id, 3 ) );
+		repo.append( files, added );
+
+		try( FileOutputStream output = new FileOutputStream( journal, true ) )
+		{
+			output.write( new byte[] { 0x57, 0x54, 0x53, 0x47, 0, 0, 0, 100, 1, 2 } );
+		}
+		long length = journal.length();
+
+		MappedRepository mapped = new MappedRepository( base.getPath() );
+		assertNotNull( "Failed to replay the segment before the torn one.", mapped.lookup( "banana" ) );
+		assertEquals( "Failed to leave the torn segment in place.", length, journal.length() );
+
+		repo.read( new FileRegistry() );
+		assertEquals( "Failed to let the writer truncate the torn segment.", length - 10, journal.length() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.MappedRepository#lookup(String)} and
+	 * {@link appDomain.MappedRepository#prefix(String)} to find words in the
+	 * mapped repository file and in the journal laid over it.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testMappedRepository_LookupAndPrefix() throws IOException
+	{
+		FileRegistry files = new FileRegistry();
+		int first = files.register( "first.txt" );
+		BSTree<WordData> words = new BalancedBSTree<WordData>();
+		String[] stored = { "ant", "bar", "bat", "batch", "bay", "cat" };
+		for( int i = 0; i < stored.length; i++ )
+		{
+			words.add( word( stored[i], first, i + 1 ) );
+		}
+		repo.write( files, words );
+
+		int second = files.register( "second.txt" );
+		BSTree<WordData> added = new BalancedBSTree<WordData>();
+		added.add( word( "bat", second, 10 ) );
+		added.add( word( "bass", second, 11 ) );
+		added.add( word( "dog", second, 12 ) );
+		repo.append( files, added );
+
+		MappedRepository mapped = new MappedRepository( base.getPath() );
+		assertNull( "Failed to miss an absent word.", mapped.lookup( "ba" ) );
+		assertEquals( "Failed to find a stored word.", 6, mapped.lookup( "cat" ).getLines( 0 ).get( 0 ) );
+		assertEquals( "Failed to find a journal word.", "second.txt",
+				mapped.getFiles().getName( mapped.lookup( "dog" ).getFileId( 0 ) ) );
+		assertEquals( "Failed to merge the journal into a stored word.", 2,
+				mapped.lookup( "bat" ).getFileCount() );
+
+		Iterator<WordData> iterator = mapped.prefix( "ba" );
+		String[] expected = { "bar", "bass", "bat", "batch", "bay" };
+		for( String text : expected )
+		{
+			assertTrue( "Failed to return every word with the prefix.", iterator.hasNext() );
+			assertEquals( "Failed to return the words in order.", text, iterator.next().getWord() );
+		}
+		assertFalse( "Failed to stop at the end of the prefix.", iterator.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFile#append(FileRegistry, BSTree, java.util.Map)}
+	 * to remove a file's occurrences from the words before it, both when the
+	 * repository is read and when it is mapped, keeping the occurrences
+	 * appended with the purge.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testAppend_PurgeReplayedOnRead() throws IOException
+	{
+		FileRegistry files = new FileRegistry();
+		int first = files.register( "first.txt" );
+		int second = files.register( "second.txt" );
+		BSTree<WordData> words = new BalancedBSTree<WordData>();
+		WordData apple = word( "apple", first, 1 );
+		apple.addOccurrence( second, 2 );
+		words.add( apple );
+		words.add( word( "bat", second, 3 ) );
+		words.add( word( "cat", second, 4 ) );
+		repo.write( files, words );
+
+		BSTree<WordData> added = new BalancedBSTree<WordData>();
+		added.add( word( "dog", second, 5 ) );
+		repo.append( files, added );
+		BSTree<WordData> reindexed = new BalancedBSTree<WordData>();
+		reindexed.add( word( "cat", second, 1 ) );
+		repo.append( files, reindexed,
+				Collections.singletonMap( "second.txt", Arrays.asList( "apple", "bat", "cat", "dog" ) ) );
+
+		FileRegistry loadedFiles = new FileRegistry();
+		BSTree<WordData> loaded = repo.read( loadedFiles );
+		assertEquals( "Failed to drop the words left without occurrences.", 2, loaded.size() );
+		assertFalse( loaded.contains( new WordData( "bat" ) ) );
+		assertFalse( "Failed to purge a journal word.", loaded.contains( new WordData( "dog" ) ) );
+		WordData kept = loaded.search( new WordData( "apple" ) ).getElement();
+		assertEquals( "Failed to keep the other file's occurrences.", 1, kept.getFileCount() );
+		assertEquals( "first.txt", loadedFiles.getName( kept.getFileId( 0 ) ) );
+		assertArrayEquals( "Failed to keep the occurrences after the purge.", new int[] { 1 },
+				loaded.search( new WordData( "cat" ) ).getElement().getLines( 0 ).toArray() );
+
+		MappedRepository mapped = new MappedRepository( base.getPath() );
+		assertNull( "Failed to purge a mapped word.", mapped.lookup( "bat" ) );
+		assertEquals( 1, mapped.lookup( "apple" ).getFileCount() );
+		assertArrayEquals( new int[] { 1 }, mapped.lookup( "cat" ).getLines( 0 ).toArray() );
+		Iterator<WordData> iterator = mapped.range( "a", null );
+		assertEquals( "apple", iterator.next().getWord() );
+		assertEquals( "Failed to skip the purged words.", "cat", iterator.next().getWord() );
+		assertFalse( iterator.hasNext() );
+
+		assertEquals( "Failed to list a file's words.", Arrays.asList( "apple" ), mapped.wordsOf( "first.txt" ) );
+		assertEquals( "Failed to list only the words left after the purge.", Arrays.asList( "cat" ),
+				mapped.wordsOf( "second.txt" ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFile#read(FileRegistry)} to
+	 * migrate the repository shipped before the binary format, a serialized
+	 * BSTree of words keeping the paths of their files, and for
+	 * {@link appDomain.RepositoryFile#write(FileRegistry, BSTree)} to write it
+	 * back in the binary format.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testRead_BaselineRepository() throws IOException
+	{
+		try( InputStream fixture = RepositoryFileTest.class.getResourceAsStream( "baseline-repository.ser" ) )
+		{
+			Files.copy( fixture, base.toPath() );
+		}
+		assertTrue( "Failed to ask for the migration to be written.", repo.needsCompaction() );
+
+		FileRegistry files = new FileRegistry();
+		BSTree<WordData> loaded = repo.read( files );
+		assertEquals( "Failed to read every word.", 10, loaded.size() );
+		assertEquals( "Failed to register the file.", "res/test1.txt", files.getName( 0 ) );
+		assertArrayEquals( new int[] { 1, 2 },
+				loaded.search( new WordData( "hello" ) ).getElement().getLines( 0 ).toArray() );
+
+		repo.write( files, loaded );
+		assertFalse( "Failed to write the binary format.", repo.needsCompaction() );
+		FileRegistry migratedFiles = new FileRegistry();
+		BSTree<WordData> migrated = repo.read( migratedFiles );
+		assertEquals( 10, migrated.size() );
+		WordData you = migrated.search( new WordData( "you" ) ).getElement();
+		assertEquals( "res/test1.txt", migratedFiles.getName( you.getFileId( 0 ) ) );
+		assertArrayEquals( new int[] { 2 }, you.getLines( 0 ).toArray() );
+	}
+
+	/**
+	 * Creates a word with a single occurrence.
+	 *
+	 * @param text the word
+	 * @param fileId the file the word was found in
+	 * @param line the line the word was found on
+	 * @return the new word
+	 */
+	private WordData word( String text, int fileId, int line )
+	{
+		WordData data = new WordData( text );
+		data.addOccurrence( fileId, line );
+		return data;
+	}
+}
@@ -0,0 +1,95 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+import implementations.BSTree;
+import implementations.FileRegistry;
+import implementations.WordData;
+import utilities.Iterator;
+
+/**
+ * Class Description: Tests for the serialized form of WordData, covering the
+ * current form and the form written before files had ids.
+ */
+
+public class WordDataTest
+{
+	/**
+	 * Test method for reading a WordData written in the current serialized form
+	 * back with the same files and lines.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testReadObject_CurrentForm() throws Exception
+	{
+		WordData data = new WordData( "apple" );
+		data.addOccurrence( 0, 3 );
+		data.addOccurrence( 0, 1 );
+		data.addOccurrence( 2, 7 );
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream output = new ObjectOutputStream( bytes ) )
+		{
+			output.writeObject( data );
+		}
+		WordData read;
+		try( ObjectInputStream input = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			read = (WordData) input.readObject();
+		}
+
+		FileRegistry files = new FileRegistry();
+		read.registerLegacyFiles( files );
+		assertEquals( "Failed to leave the registry alone.", 0, files.size() );
+		assertEquals( "apple", read.getWord() );
+		assertEquals( "Failed to read the files.", 2, read.getFileCount() );
+		assertEquals( 2, read.getFileId( 1 ) );
+		assertArrayEquals( "Failed to read the lines.", new int[] { 1, 3 }, read.getLines( 0 ).toArray() );
+		assertArrayEquals( new int[] { 7 }, read.getLines( 1 ).toArray() );
+	}
+
+	/**
+	 * Test method for reading the repository shipped before files had ids, a
+	 * serialized BSTree of WordData keeping a map of file paths to lists of line
+	 * numbers, and registering its files.
+	 *
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 */
+	@Test
+	@SuppressWarnings( "unchecked" )
+	public void testReadObject_BaselineForm() throws IOException, ClassNotFoundException
+	{
+		BSTree<WordData> words;
+		try( ObjectInputStream input = new ObjectInputStream(
+				WordDataTest.class.getResourceAsStream( "baseline-repository.ser" ) ) )
+		{
+			words = (BSTree<WordData>) input.readObject();
+		}
+		assertEquals( "Failed to read every word.", 10, words.size() );
+
+		FileRegistry files = new FileRegistry();
+		Iterator<WordData> iterator = words.inorderIterator();
+		while( iterator.hasNext() )
+		{
+			iterator.next().registerLegacyFiles( files );
+		}
+		assertEquals( "Failed to register the file.", 1, files.size() );
+		assertEquals( "res/test1.txt", files.getName( 0 ) );
+
+		WordData kitty = words.search( new WordData( "kitty" ) ).getElement();
+		assertEquals( 1, kitty.getFileCount() );
+		assertArrayEquals( "Failed to convert the lines.", new int[] { 1, 2 }, kitty.getLines( 0 ).toArray() );
+		WordData meet = words.search( new WordData( "meet" ) ).getElement();
+		assertArrayEquals( new int[] { 2 }, meet.getLines( 0 ).toArray() );
+	}
+}
@@ -0,0 +1,196 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import appDomain.WordTokenizer;
+
+/**
+ * Class Description: Tests for the WordTokenizer, including a regression check
+ * that it produces exactly the words and line numbers of the original
+ * split/replaceAll parsing on the sample files in res.
+ */
+
+public class WordTokenizerTest
+{
+	// Attributes
+	private List<String> tokens;
+	private WordTokenizer tokenizer;
+
+	/**
+	 * Initializes a tokenizer that records every token as "line:word" before each
+	 * test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tokens = new ArrayList<String>();
+		tokenizer = new WordTokenizer( ( word, lineNumber ) -> tokens.add( lineNumber + ":" + word ) );
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tokens = null;
+		tokenizer = null;
+	}
+
+	/**
+	 * Feeds a string to the tokenizer and finishes it.
+	 * 
+	 * @param text the text to tokenize
+	 */
+	private void tokenize( String text )
+	{
+		tokenizer.accept( text.toCharArray(), 0, text.length() );
+		tokenizer.finish();
+	}
+
+	/**
+	 * Tokenizes a file the way WordTracker.parse did before the tokenizer existed.
+	 * 
+	 * @param fileName the file to read
+	 * @return every token as "line:word"
+	 * @throws IOException if the file cannot be read
+	 */
+	private List<String> legacyTokens( String fileName ) throws IOException
+	{
+		List<String> expected = new ArrayList<String>();
+		try( BufferedReader reader = new BufferedReader( new FileReader( fileName ) ) )
+		{
+			String line;
+			int lineNumber = 1;
+			while( ( line = reader.readLine() ) != null )
+			{
+				for( String word : line.split( "[^a-zA-Z0-9']+" ) )
+				{
+					word = word.replaceAll( "^'+|'+$", "" ).toLowerCase();
+					if( !word.isEmpty() )
+					{
+						expected.add( lineNumber + ":" + word );
+					}
+				}
+				lineNumber++;
+			}
+		}
+		return expected;
+	}
+
+	/**
+	 * Checks that tokenizing the given file matches the legacy parsing.
+	 * 
+	 * @param fileName the file to compare
+	 * @throws IOException if the file cannot be read
+	 */
+	private void assertMatchesLegacy( String fileName ) throws IOException
+	{
+		try( Reader reader = new FileReader( fileName ) )
+		{
+			// a small odd-sized buffer so words and line breaks straddle reads
+			char[] buffer = new char[37];
+			int count;
+			while( ( count = reader.read( buffer ) ) != -1 )
+			{
+				tokenizer.accept( buffer, 0, count );
+			}
+			tokenizer.finish();
+		}
+		assertEquals( "Tokens differ from the legacy parser for " + fileName, legacyTokens( fileName ), tokens );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTokenizer} to match the legacy parsing
+	 * of res/test1.txt.
+	 * 
+	 * @throws IOException if the file cannot be read
+	 */
+	@Test
+	public void testMatchesLegacy_Test1() throws IOException
+	{
+		assertMatchesLegacy( "res/test1.txt" );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTokenizer} to match the legacy parsing
+	 * of res/test2.txt.
+	 * 
+	 * @throws IOException if the file cannot be read
+	 */
+	@Test
+	public void testMatchesLegacy_Test2() throws IOException
+	{
+		assertMatchesLegacy( "res/test2.txt" );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTokenizer} to match the legacy parsing
+	 * of res/test3.txt.
+	 * 
+	 * @throws IOException if the file cannot be read
+	 */
+	@Test
+	public void testMatchesLegacy_Test3() throws IOException
+	{
+		assertMatchesLegacy( "res/test3.txt" );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTokenizer} to trim apostrophes from the
+	 * ends of words but keep them inside words.
+	 */
+	@Test
+	public void testApostrophes()
+	{
+		tokenize( "'quoted' it's ''' rock'n'roll'' O'Neil's" );
+
+		String[] expected = { "1:quoted", "1:it's", "1:rock'n'roll", "1:o'neil's" };
+		assertArrayEquals( "Failed to trim apostrophes.", expected, tokens.toArray() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTokenizer} to count "\n", "\r" and
+	 * "\r\n" line endings the same way as BufferedReader.readLine.
+	 */
+	@Test
+	public void testLineEndings()
+	{
+		tokenize( "one\ntwo\r\nthree\rfour\n\nsix" );
+
+		String[] expected = { "1:one", "2:two", "3:three", "4:four", "6:six" };
+		assertArrayEquals( "Failed to count lines.", expected, tokens.toArray() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTokenizer#getLineCount()} and
+	 * {@link appDomain.WordTokenizer#getTokenCount()} to count lines the way
+	 * BufferedReader.readLine would read them, and every word emitted.
+	 */
+	@Test
+	public void testCounts()
+	{
+		tokenize( "one two\r\n\n'' three\n" );
+		assertEquals( "Failed to count lines ending in a line break.", 3, tokenizer.getLineCount() );
+		assertEquals( "Failed to count the words.", 3, tokenizer.getTokenCount() );
+
+		tokenizer = new WordTokenizer( ( word, lineNumber ) -> tokens.add( lineNumber + ":" + word ) );
+		tokenize( "four\nfive" );
+		assertEquals( "Failed to count a last line without a line break.", 2, tokenizer.getLineCount() );
+	}
+}
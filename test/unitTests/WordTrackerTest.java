@@ -0,0 +1,468 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import appDomain.WordTracker;
+import implementations.WordData;
+import utilities.Iterator;
+
+/**
+ * Class Description: Tests for WordTracker, running it over small input files
+ * with a repository kept in a temporary directory.
+ */
+
+public class WordTrackerTest
+{
+	// Attributes
+	private File directory;
+	private File repository;
+
+	/**
+	 * Creates an empty directory to hold the input files and the repository
+	 * before each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		directory = File.createTempFile( "wordtracker", "" );
+		directory.delete();
+		directory.mkdir();
+		repository = new File( directory, "repository.ser" );
+	}
+
+	/**
+	 * Deletes the input files and the repository after each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		for( File file : directory.listFiles() )
+		{
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTracker#loadRepository()} and
+	 * {@link appDomain.WordTracker#saveRepository()} to migrate the repository
+	 * shipped before the binary format, keeping its words next to the new ones.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testSaveRepository_MigratesBaseline() throws IOException
+	{
+		try( InputStream fixture = WordTrackerTest.class.getResourceAsStream( "baseline-repository.ser" ) )
+		{
+			Files.copy( fixture, repository.toPath() );
+		}
+		String input = write( "input.txt", "Hello there\n" );
+
+		WordTracker tracker = tracker( input );
+		assertTrue( "Failed to load the repository.", tracker.loadRepository() );
+		assertTrue( tracker.parse() );
+		tracker.saveRepository();
+
+		WordTracker reloaded = tracker( input );
+		assertTrue( reloaded.loadRepository() );
+		WordData kitty = reloaded.getWordData( "kitty" );
+		assertNotNull( "Failed to keep the stored words.", kitty );
+		assertEquals( "res/test1.txt", reloaded.getFiles().getName( kitty.getFileId( 0 ) ) );
+		assertArrayEquals( new int[] { 1, 2 }, kitty.getLines( 0 ).toArray() );
+		WordData hello = reloaded.getWordData( "hello" );
+		assertEquals( "Failed to add the new occurrences.", 2, hello.getFileCount() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTracker#loadRepository()} to report a
+	 * repository that cannot be read, and for saving to leave it as it was.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testLoadRepository_UnreadableNotReplaced() throws IOException
+	{
+		byte[] damaged = { 0x57, 0x54, 0x52, 0x4B, 0, 0, 0, 2, (byte) 0xFF, 1, 2 };
+		Files.write( repository.toPath(), damaged );
+
+		WordTracker tracker = tracker( write( "input.txt", "apple\n" ) );
+		assertFalse( "Failed to report the damaged repository.", tracker.loadRepository() );
+		assertTrue( tracker.parse() );
+		tracker.saveRepository();
+		tracker.compactRepository();
+		assertArrayEquals( "Failed to leave the repository alone.", damaged, Files.readAllBytes( repository.toPath() ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTracker#parse()} to purge the
+	 * occurrences of a file that changed since it was indexed, removing only
+	 * those that are no longer in it, both in the tree and once the journal is
+	 * replayed.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testParse_ReindexesModifiedFile() throws IOException
+	{
+		String first = write( "first.txt", "apple banana\ncherry\n" );
+		String second = write( "second.txt", "banana cherry\n" );
+		WordTracker tracker = tracker( first, second );
+		assertTrue( tracker.loadRepository() );
+		assertTrue( tracker.parse() );
+		tracker.saveRepository();
+
+		write( "first.txt", "cherry apple\ndate\n" );
+		WordTracker reindexed = tracker( first );
+		assertTrue( reindexed.loadRepository() );
+		assertTrue( reindexed.parse() );
+		reindexed.saveRepository();
+
+		WordTracker reloaded = tracker( first );
+		assertTrue( reloaded.loadRepository() );
+		for( WordTracker checked : new WordTracker[] { reindexed, reloaded } )
+		{
+			assertNull( "Failed to purge a word no longer in the file.", lines( checked, "banana", first ) );
+			assertArrayEquals( "Failed to keep the other file's occurrences.", new int[] { 1 },
+					lines( checked, "banana", second ) );
+			assertArrayEquals( "Failed to replace a moved occurrence.", new int[] { 1 },
+					lines( checked, "cherry", first ) );
+			assertArrayEquals( new int[] { 1 }, lines( checked, "cherry", second ) );
+			assertArrayEquals( new int[] { 1 }, lines( checked, "apple", first ) );
+			assertArrayEquals( "Failed to add a new occurrence.", new int[] { 2 }, lines( checked, "date", first ) );
+		}
+	}
+
+	/**
+	 * Finds the lines a word is on in one file.
+	 *
+	 * @param tracker the WordTracker to look the word up in
+	 * @param word the word to look up
+	 * @param fileName the path of the file
+	 * @return the lines, or null if the word is not in the file
+	 */
+	private int[] lines( WordTracker tracker, String word, String fileName )
+	{
+		WordData data = tracker.getWordData( word );
+		for( int i = 0; data != null && i < data.getFileCount(); i++ )
+		{
+			if( tracker.getFiles().getName( data.getFileId( i ) ).equals( fileName ) )
+			{
+				return data.getLines( i ).toArray();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTracker#saveRepository()} to write a
+	 * modified file's purge and its new occurrences so that a journal cut short
+	 * anywhere, including right after the purge, reloads with either the old or
+	 * the new occurrences of the file, never with neither.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testSaveRepository_TornPurgeKeepsWords() throws IOException
+	{
+		String input = write( "input.txt", "apple banana\n" );
+		WordTracker tracker = tracker( input );
+		assertTrue( tracker.loadRepository() );
+		assertTrue( tracker.parse() );
+		tracker.saveRepository();
+
+		write( "input.txt", "apple cherry\n" );
+		WordTracker reindexed = tracker( input );
+		assertTrue( reindexed.loadRepository() );
+		assertTrue( reindexed.parse() );
+		reindexed.saveRepository();
+
+		File journal = new File( directory, "repository.ser.journal" );
+		byte[] record = Files.readAllBytes( journal.toPath() );
+		assertTrue( "Failed to append the purge to the journal.", record.length > 0 );
+		for( int length = 0; length < record.length; length++ )
+		{
+			Files.write( journal.toPath(), Arrays.copyOf( record, length ) );
+			WordTracker reloaded = tracker( input );
+			assertTrue( reloaded.loadRepository() );
+			assertArrayEquals( "Failed to keep the file's words at " + length + " bytes.", new int[] { 1 },
+					lines( reloaded, "apple", input ) );
+			assertNotNull( "Failed to keep the old occurrences at " + length + " bytes.",
+					lines( reloaded, "banana", input ) );
+			assertNull( lines( reloaded, "cherry", input ) );
+		}
+
+		Files.write( journal.toPath(), record );
+		WordTracker reloaded = tracker( input );
+		assertTrue( reloaded.loadRepository() );
+		assertNull( "Failed to purge the old occurrences.", lines( reloaded, "banana", input ) );
+		assertArrayEquals( new int[] { 1 }, lines( reloaded, "cherry", input ) );
+		assertArrayEquals( new int[] { 1 }, lines( reloaded, "apple", input ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTracker#parse()} to index the sample
+	 * files in res on several threads into the same report as on one thread,
+	 * including after one file is re-indexed and another purged, and once the
+	 * repository is reloaded.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testParse_ThreadsMatchSequential() throws IOException
+	{
+		String[] inputs = new String[3];
+		for( int i = 0; i < inputs.length; i++ )
+		{
+			Path sample = Paths.get( "res", "test" + ( i + 1 ) + ".txt" );
+			inputs[i] = write( "test" + ( i + 1 ) + ".txt", new String( Files.readAllBytes( sample ), StandardCharsets.UTF_8 ) );
+		}
+		byte[][] parsed = new byte[2][];
+		byte[][] reindexed = new byte[2][];
+		byte[][] reloaded = new byte[2][];
+		int[] threads = { 1, 4 };
+
+		for( int t = 0; t < threads.length; t++ )
+		{
+			File stored = new File( directory, "repository-t" + threads[t] + ".ser" );
+			write( "test2.txt", new String( Files.readAllBytes( Paths.get( "res", "test2.txt" ) ), StandardCharsets.UTF_8 ) );
+			WordTracker tracker = tracker( stored, threads[t], inputs );
+			assertTrue( tracker.loadRepository() );
+			assertTrue( tracker.parse() );
+			tracker.saveRepository();
+			parsed[t] = report( tracker, "parsed" );
+
+			write( "test2.txt", "A changed second file\nwith kitty on line two\n" );
+			WordTracker changed = tracker( stored, threads[t], inputs );
+			assertTrue( changed.loadRepository() );
+			assertTrue( changed.parse() );
+			assertTrue( "Failed to purge the file.", changed.purgeFile( inputs[0] ) );
+			changed.saveRepository();
+			reindexed[t] = report( changed, "reindexed" );
+
+			WordTracker reopened = tracker( stored, threads[t], inputs[2] );
+			assertTrue( reopened.loadRepository() );
+			reloaded[t] = report( reopened, "reloaded" );
+		}
+
+		assertTrue( "Failed to report any words.", parsed[0].length > 0 );
+		assertArrayEquals( "Failed to match the sequential parse.", parsed[0], parsed[1] );
+		assertArrayEquals( "Failed to match the sequential re-index and purge.", reindexed[0], reindexed[1] );
+		assertArrayEquals( "Failed to match the sequential reload.", reloaded[0], reloaded[1] );
+		assertArrayEquals( "Failed to reload the re-indexed words.", reindexed[0], reloaded[0] );
+		assertFalse( "Failed to re-index the changed file.", Arrays.equals( parsed[0], reindexed[0] ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTracker#printWords(String, String)} to
+	 * format a report large enough to be split across threads into exactly the
+	 * same bytes as formatting it on one thread.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testPrintWords_ParallelMatchesSequential() throws IOException
+	{
+		StringBuilder first = new StringBuilder();
+		StringBuilder second = new StringBuilder();
+		for( int i = 0; i < 30000; i++ )
+		{
+			first.append( "w" ).append( i % 15000 ).append( i % 7 == 0 ? "\n" : " " );
+			if( i % 3 == 0 )
+			{
+				second.append( "w" ).append( i ).append( "\n" );
+			}
+		}
+		String[] inputs = { write( "first.txt", first.toString() ), write( "second.txt", second.toString() ) };
+
+		WordTracker sequential = tracker( new File( directory, "sequential.ser" ), 1, inputs );
+		assertTrue( sequential.parse() );
+		WordTracker parallel = tracker( new File( directory, "parallel.ser" ), 4, inputs );
+		assertTrue( parallel.parse() );
+		for( String option : new String[] { "-pf", "-pl", "-po" } )
+		{
+			assertArrayEquals( "Failed to match the sequential " + option + " report.",
+					report( sequential, "sequential", option ), report( parallel, "parallel", option ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTracker#queryWords(String)} to match a
+	 * prefix, a "from..to" range that includes both ends, ranges left open at
+	 * either end, and a single word.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testQueryWords() throws IOException
+	{
+		WordTracker tracker = tracker( write( "input.txt", "apple apply apt banana band\nbandana can cane\n" ) );
+		assertTrue( tracker.parse() );
+
+		assertEquals( "Failed to match the prefix.", Arrays.asList( "apple", "apply" ), words( tracker.queryWords( "appl*" ) ) );
+		assertEquals( "Failed to include both ends of the range.", Arrays.asList( "apt", "banana", "band" ),
+				words( tracker.queryWords( "apt..band" ) ) );
+		assertEquals( "Failed to stop before longer words.", Arrays.asList( "band" ), words( tracker.queryWords( "band..band" ) ) );
+		assertEquals( "Failed to leave the start open.", Arrays.asList( "apple", "apply" ),
+				words( tracker.queryWords( "..apply" ) ) );
+		assertEquals( "Failed to leave the end open.", Arrays.asList( "can", "cane" ), words( tracker.queryWords( "c.." ) ) );
+		assertEquals( "Failed to match the word.", Arrays.asList( "can" ), words( tracker.queryWords( "CAN" ) ) );
+		assertEquals( "Failed to match nothing.", Collections.emptyList(), words( tracker.queryWords( "cat*" ) ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.WordTracker#countWords(String)} to count
+	 * the same words queryWords returns, and for
+	 * {@link appDomain.WordTracker#pageWords(int, int)} to return pages of the
+	 * sorted words, including a page cut short at the end and one past it.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void testCountAndPageWords() throws IOException
+	{
+		WordTracker tracker = tracker( write( "input.txt", "apple apply apt banana band\nbandana can cane\n" ) );
+		assertTrue( tracker.parse() );
+
+		for( String query : new String[] { "appl*", "apt..band", "band..band", "..apply", "c..", "can", "cat*", ".." } )
+		{
+			assertEquals( "Failed to count " + query + ".", words( tracker.queryWords( query ) ).size(),
+					tracker.countWords( query ) );
+		}
+		assertEquals( "Failed to count an inclusive range.", 3, tracker.countWords( "apt..band" ) );
+
+		assertEquals( "Failed to return the first page.", Arrays.asList( "apple", "apply", "apt" ),
+				words( tracker.pageWords( 0, 3 ) ) );
+		assertEquals( "Failed to skip to a page.", Arrays.asList( "band", "bandana", "can" ), words( tracker.pageWords( 4, 3 ) ) );
+		assertEquals( "Failed to cut the last page short.", Arrays.asList( "cane" ), words( tracker.pageWords( 7, 3 ) ) );
+		assertEquals( "Failed to return an empty page past the end.", Collections.emptyList(),
+				words( tracker.pageWords( 8, 3 ) ) );
+		assertEquals( "Failed to return an empty page far past the end.", Collections.emptyList(),
+				words( tracker.pageWords( 100, 3 ) ) );
+	}
+
+	/**
+	 * Collects the words an iterator returns.
+	 *
+	 * @param iterator the words to collect
+	 * @return the words, in the order returned
+	 */
+	private List<String> words( Iterator<WordData> iterator )
+	{
+		List<String> words = new ArrayList<String>();
+		while( iterator.hasNext() )
+		{
+			words.add( iterator.next().getWord() );
+		}
+		return words;
+	}
+
+	/**
+	 * Creates a WordTracker for the given files that keeps its repository in
+	 * the temporary directory.
+	 *
+	 * @param inputs the paths of the files to index
+	 * @return the new WordTracker
+	 */
+	private WordTracker tracker( String... inputs )
+	{
+		return tracker( repository, 1, inputs );
+	}
+
+	/**
+	 * Creates a WordTracker for the given files with its own repository and
+	 * number of threads.
+	 *
+	 * @param stored the repository file
+	 * @param threads the number of worker threads
+	 * @param inputs the paths of the files to index
+	 * @return the new WordTracker
+	 */
+	private WordTracker tracker( File stored, int threads, String... inputs )
+	{
+		WordTracker tracker = new WordTracker( inputs.length == 1 ? Collections.singletonList( inputs[0] )
+				: Arrays.asList( inputs ), StandardCharsets.UTF_8, threads );
+		tracker.setRepositoryFile( stored.getPath() );
+		return tracker;
+	}
+
+	/**
+	 * Prints every word the tracker holds, with their files and lines, to an
+	 * output file in the temporary directory and reads it back. The copy printed
+	 * to the console is discarded.
+	 *
+	 * @param tracker the WordTracker to report on
+	 * @param name the name of the output file
+	 * @return the contents of the report
+	 * @throws IOException if the report cannot be read back
+	 */
+	private byte[] report( WordTracker tracker, String name ) throws IOException
+	{
+		return report( tracker, name, "-po" );
+	}
+
+	/**
+	 * Prints every word the tracker holds to an output file in the temporary
+	 * directory and reads it back, discarding the copy printed to the console.
+	 *
+	 * @param tracker the WordTracker to report on
+	 * @param name the name of the output file
+	 * @param option determines what information will be displayed
+	 * @return the contents of the report
+	 * @throws IOException if the report cannot be read back
+	 */
+	private byte[] report( WordTracker tracker, String name, String option ) throws IOException
+	{
+		File output = new File( directory, name + ".txt" );
+		PrintStream console = System.out;
+		System.setOut( new PrintStream( new ByteArrayOutputStream() ) );
+		try
+		{
+			assertTrue( "Failed to write the report.", tracker.printWords( option, output.getPath() ) );
+		}
+		finally
+		{
+			System.setOut( console );
+		}
+		byte[] contents = Files.readAllBytes( output.toPath() );
+		output.delete();
+		return contents;
+	}
+
+	/**
+	 * Writes an input file in the temporary directory.
+	 *
+	 * @param name the name of the file
+	 * @param text the contents of the file
+	 * @return the path of the file
+	 * @throws IOException if the file cannot be written
+	 */
+	private String write( String name, String text ) throws IOException
+	{
+		File file = new File( directory, name );
+		Files.write( file.toPath(), text.getBytes( StandardCharsets.UTF_8 ) );
+		return file.getPath();
+	}
+}